@@ -0,0 +1,25 @@
+package com.los.credit.actuator;
+
+import com.los.credit.dto.ShadowScoringSummary;
+import com.los.credit.service.ShadowScoringService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/shadowscoring}: how the registered shadow scorer compares with the champion
+ * over the most recent results.
+ */
+@Component
+@Endpoint(id = "shadowscoring")
+@RequiredArgsConstructor
+public class ShadowScoringEndpoint {
+
+    private final ShadowScoringService shadowScoringService;
+
+    @ReadOperation
+    public ShadowScoringSummary summary() {
+        return shadowScoringService.summary();
+    }
+}
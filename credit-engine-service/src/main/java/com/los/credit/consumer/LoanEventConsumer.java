@@ -0,0 +1,186 @@
+package com.los.credit.consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.los.credit.dto.CreditBureauReport;
+import com.los.credit.dto.CreditCheckRequest;
+import com.los.credit.dto.CreditCheckResponse;
+import com.los.credit.event.CreditCheckedEvent;
+import com.los.credit.event.LoanAppliedEvent;
+import com.los.credit.exception.CreditBureauException;
+import com.los.credit.service.CreditBureauService;
+import com.los.credit.service.CreditEngineService;
+import com.los.credit.service.CreditEventPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Scores loan applications as they are published. Each listener thread owns a set of
+ * loan-events partitions and handles a whole poll at once, so throughput grows with the
+ * partition count. Results are published before the batch returns; a failed publish
+ * replays the batch, which loan-service tolerates because it ignores repeated results.
+ * <p>
+ * Bureau reports for applications without declared debt are fetched for the whole poll at
+ * once, concurrently on the bureau's I/O pool, and waited for at most
+ * {@code credit.events.bureau-wait-ms}, well inside {@code max.poll.interval.ms}. Applications
+ * whose report is not there by then are answered with an ERROR result.
+ */
+@Slf4j
+@Component
+public class LoanEventConsumer {
+
+    private final CreditEngineService creditEngineService;
+    private final CreditBureauService creditBureauService;
+    private final CreditEventPublisher creditEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final long bureauWaitMs;
+
+    public LoanEventConsumer(
+            CreditEngineService creditEngineService,
+            CreditBureauService creditBureauService,
+            CreditEventPublisher creditEventPublisher,
+            ObjectMapper objectMapper,
+            @Value("${credit.events.bureau-wait-ms:10000}") long bureauWaitMs) {
+        this.creditEngineService = creditEngineService;
+        this.creditBureauService = creditBureauService;
+        this.creditEventPublisher = creditEventPublisher;
+        this.objectMapper = objectMapper;
+        this.bureauWaitMs = bureauWaitMs;
+    }
+
+    @KafkaListener(topics = "loan-events", groupId = "credit-engine-service",
+            concurrency = "${credit.events.listener-concurrency:3}")
+    public void consumeLoanEvents(List<String> messages) {
+        List<LoanAppliedEvent> applications = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            // Other loan events are plain "TYPE:id" strings; only applications are JSON
+            if (message == null || !message.startsWith("{")) {
+                continue;
+            }
+            LoanAppliedEvent event;
+            try {
+                event = objectMapper.readValue(message, LoanAppliedEvent.class);
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping unreadable loan event: {}", message);
+                continue;
+            }
+            if (LoanAppliedEvent.TYPE.equals(event.getEventType()) && event.getLoanId() != null) {
+                applications.add(event);
+            }
+        }
+
+        Map<Long, CompletableFuture<CreditBureauReport>> reports = fetchBureauReports(applications);
+        List<CreditCheckedEvent> results = new ArrayList<>(applications.size());
+        for (LoanAppliedEvent event : applications) {
+            results.add(score(event, reports));
+        }
+
+        creditEventPublisher.publishAll(results);
+        if (!results.isEmpty()) {
+            log.info("Scored {} loan applications from {} loan events", results.size(), messages.size());
+        }
+    }
+
+    /**
+     * Start one bureau lookup per distinct customer whose debt is undeclared and wait for all of
+     * them, up to the batch deadline. Failures are left in the futures for {@link #score} to report.
+     */
+    private Map<Long, CompletableFuture<CreditBureauReport>> fetchBureauReports(List<LoanAppliedEvent> applications) {
+        Map<Long, CompletableFuture<CreditBureauReport>> reports = new HashMap<>();
+        for (LoanAppliedEvent event : applications) {
+            if (event.getExistingDebt() == null && event.getCustomerId() != null) {
+                reports.computeIfAbsent(event.getCustomerId(), creditBureauService::getReportAsync);
+            }
+        }
+        if (reports.isEmpty()) {
+            return reports;
+        }
+        try {
+            CompletableFuture.allOf(reports.values().toArray(CompletableFuture[]::new))
+                    .get(bureauWaitMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // at least one lookup failed; each application reports its own
+        } catch (TimeoutException e) {
+            long pending = reports.values().stream().filter(f -> !f.isDone()).count();
+            log.warn("{} of {} bureau reports not ready after {} ms", pending, reports.size(), bureauWaitMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return reports;
+    }
+
+    private CreditCheckedEvent score(LoanAppliedEvent event, Map<Long, CompletableFuture<CreditBureauReport>> reports) {
+        if (event.getMonthlyIncome() == null || event.getRequestedAmount() == null) {
+            return error(event, "Application has no declared monthly income");
+        }
+        BigDecimal existingDebt = event.getExistingDebt();
+        CompletableFuture<CreditBureauReport> report = reports.get(event.getCustomerId());
+        if (existingDebt == null && report != null) {
+            if (!report.isDone()) {
+                return error(event, "Unable to score application: bureau report not available within "
+                        + bureauWaitMs + " ms");
+            }
+            try {
+                existingDebt = report.join().getMonthlyDebtPayments();
+            } catch (CompletionException e) {
+                return error(event, "Unable to score application: " + e.getCause().getMessage());
+            }
+        }
+
+        // loan-service prices the installment on the financed amount, net of the down payment
+        BigDecimal principal = event.getDownPayment() != null
+                ? event.getRequestedAmount().subtract(event.getDownPayment())
+                : event.getRequestedAmount();
+        CreditCheckRequest request = CreditCheckRequest.builder()
+                .customerId(event.getCustomerId())
+                .loanId(event.getLoanId())
+                .requestedAmount(principal)
+                .monthlyIncome(event.getMonthlyIncome())
+                .existingDebt(existingDebt)
+                .productId(event.getProductId())
+                .tenor(event.getTenor())
+                .interestRate(event.getInterestRate())
+                .build();
+        try {
+            CreditCheckResponse response = creditEngineService.evaluate(request);
+            return CreditCheckedEvent.builder()
+                    .eventType(CreditCheckedEvent.TYPE)
+                    .loanId(response.getLoanId())
+                    .customerId(response.getCustomerId())
+                    .dtiRatio(response.getDtiRatio())
+                    .creditScore(response.getCreditScore())
+                    .decision(response.getDecision())
+                    .remarks(response.getRemarks())
+                    .ruleVersion(response.getRuleVersion())
+                    .checkedAt(response.getCheckedAt())
+                    .build();
+        } catch (ArithmeticException | IllegalArgumentException | CreditBureauException e) {
+            return error(event, "Unable to score application: " + e.getMessage());
+        }
+    }
+
+    private CreditCheckedEvent error(LoanAppliedEvent event, String remarks) {
+        return CreditCheckedEvent.builder()
+                .eventType(CreditCheckedEvent.TYPE)
+                .loanId(event.getLoanId())
+                .customerId(event.getCustomerId())
+                .decision("ERROR")
+                .remarks(remarks)
+                .checkedAt(LocalDateTime.now())
+                .build();
+    }
+}
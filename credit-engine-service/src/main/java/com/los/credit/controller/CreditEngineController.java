@@ -2,21 +2,132 @@ package com.los.credit.controller;
 
 import com.los.credit.dto.CreditCheckRequest;
 import com.los.credit.dto.CreditCheckResponse;
+import com.los.credit.dto.RuleSetDefinition;
+import com.los.credit.dto.RuleSetStatusResponse;
+import com.los.credit.dto.StressTestRequest;
+import com.los.credit.dto.StressTestResponse;
+import com.los.credit.service.BatchCreditCheckService;
+import com.los.credit.service.CreditCheckHistoryService;
 import com.los.credit.service.CreditEngineService;
+import com.los.credit.service.DecisionRuleEngine;
+import com.los.credit.service.DecisionTable;
+import com.los.credit.service.PortfolioStressTestService;
+import com.los.credit.service.ShadowScoringService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/credit")
 @RequiredArgsConstructor
 public class CreditEngineController {
 
+    private static final int MAX_HISTORY_LIMIT = 500;
+
     private final CreditEngineService creditEngineService;
+    private final BatchCreditCheckService batchCreditCheckService;
+    private final DecisionRuleEngine decisionRuleEngine;
+    private final CreditCheckHistoryService creditCheckHistoryService;
+    private final ShadowScoringService shadowScoringService;
+    private final PortfolioStressTestService portfolioStressTestService;
 
     @PostMapping("/check")
     public ResponseEntity<CreditCheckResponse> performCreditCheck(@RequestBody CreditCheckRequest request) {
         CreditCheckResponse response = creditEngineService.performCreditCheck(request);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping(value = "/check/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> performBatchCreditCheck(HttpServletRequest request) throws IOException {
+        InputStream in = request.getInputStream();
+        StreamingResponseBody body = out -> batchCreditCheckService.checkBatch(in, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/check/{id}")
+    public ResponseEntity<CreditCheckResponse> getCreditCheck(@PathVariable Long id) {
+        return creditCheckHistoryService.findById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Credit checks of one customer or one loan, newest first. The time range defaults
+     * to the last 90 days so the query stays within a few partitions.
+     */
+    @GetMapping("/checks")
+    public ResponseEntity<List<CreditCheckResponse>> findCreditChecks(
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Long loanId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "50") int limit) {
+        if ((customerId == null) == (loanId == null) || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDateTime until = to != null ? to : LocalDateTime.now();
+        LocalDateTime since = from != null ? from : until.minusDays(90);
+        int size = Math.min(limit, MAX_HISTORY_LIMIT);
+        List<CreditCheckResponse> checks = customerId != null
+                ? creditCheckHistoryService.findByCustomer(customerId, since, until, size)
+                : creditCheckHistoryService.findByLoan(loanId, since, until, size);
+        return ResponseEntity.ok(checks);
+    }
+
+    /**
+     * Re-score the loan book under shock scenarios and report how decisions move from the baseline.
+     */
+    @PostMapping("/stress-test")
+    public ResponseEntity<StressTestResponse> runStressTest(@RequestBody StressTestRequest request) {
+        return ResponseEntity.ok(portfolioStressTestService.run(request));
+    }
+
+    @GetMapping("/rules")
+    public ResponseEntity<RuleSetStatusResponse> getActiveRules() {
+        return ResponseEntity.ok(ruleSetStatus());
+    }
+
+    @PostMapping("/rules/reload")
+    public ResponseEntity<RuleSetStatusResponse> reloadRules() {
+        decisionRuleEngine.reload();
+        return ResponseEntity.ok(ruleSetStatus());
+    }
+
+    /**
+     * Start shadow scoring a candidate rule set on live checks; see /actuator/shadowscoring.
+     */
+    @PutMapping("/rules/shadow")
+    public ResponseEntity<RuleSetStatusResponse> registerShadowRules(@RequestBody RuleSetDefinition definition) {
+        DecisionTable candidate = shadowScoringService.register(definition);
+        return ResponseEntity.ok(RuleSetStatusResponse.builder()
+                .version(candidate.version())
+                .loadedAt(shadowScoringService.registeredAt())
+                .build());
+    }
+
+    @DeleteMapping("/rules/shadow")
+    public ResponseEntity<Void> clearShadowRules() {
+        shadowScoringService.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    private RuleSetStatusResponse ruleSetStatus() {
+        return RuleSetStatusResponse.builder()
+                .version(decisionRuleEngine.current().version())
+                .loadedAt(decisionRuleEngine.loadedAt())
+                .build();
+    }
 }
@@ -0,0 +1,16 @@
+package com.los.credit.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreditBureauReport {
+    private Long customerId;
+    private BigDecimal monthlyDebtPayments; // sum of installments on all active facilities
+    private Integer activeFacilities;
+    private LocalDateTime reportedAt;
+}
@@ -13,4 +13,7 @@ public class CreditCheckRequest {
     private BigDecimal requestedAmount;
     private BigDecimal monthlyIncome;
     private BigDecimal existingDebt;
+    private Long productId;
+    private Integer tenor; // months; 24 when omitted
+    private BigDecimal interestRate; // % per year; the product's rate when omitted, else 12
 }
@@ -15,9 +15,13 @@ public class CreditCheckResponse {
     private BigDecimal monthlyIncome;
     private BigDecimal existingDebt;
     private BigDecimal requestedAmount;
+    private Long productId;
+    private Integer tenor;
+    private BigDecimal interestRate;
     private BigDecimal dtiRatio;
     private Integer creditScore;
-    private String decision; // APPROVED, REJECTED, REVIEW
+    private String decision; // APPROVED, REJECTED, REVIEW (ERROR for unscorable batch items)
     private String remarks;
+    private String ruleVersion; // decision rule set that produced this result
     private LocalDateTime checkedAt;
 }
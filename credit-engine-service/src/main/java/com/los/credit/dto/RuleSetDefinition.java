@@ -0,0 +1,64 @@
+package com.los.credit.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * File format of a credit decision rule set. DTI values are percentages, money values are
+ * in currency units. Bands and decision rules are evaluated top-down, first match wins.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RuleSetDefinition {
+    private String version;
+    private Integer baseScore;
+    private Integer minScore;
+    private Integer maxScore;
+    private List<DtiBand> dtiBands;
+    private List<IncomeBand> incomeBands;
+    private List<DebtBand> debtBands;
+    private List<DecisionRule> decisionRules;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DtiBand {
+        private BigDecimal below; // null = catch-all
+        private Integer adjustment;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IncomeBand {
+        private BigDecimal atLeast;
+        private Integer adjustment;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DebtBand {
+        private BigDecimal incomeRatioAbove; // matches when existing debt > income * ratio
+        private Integer adjustment;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DecisionRule {
+        private String name;
+        private BigDecimal dtiAbove;
+        private BigDecimal dtiBelow;
+        private Integer scoreBelow;
+        private Integer scoreAtLeast;
+        private BigDecimal incomeAtLeast;
+        private String decision; // APPROVED, REJECTED, REVIEW
+        private String remarks;
+    }
+}
@@ -0,0 +1,14 @@
+package com.los.credit.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RuleSetStatusResponse {
+    private String version;
+    private LocalDateTime loadedAt;
+}
@@ -0,0 +1,26 @@
+package com.los.credit.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShadowScoringSummary {
+    private String candidateVersion; // null when no shadow scorer is registered
+    private LocalDateTime registeredAt;
+    private String championVersion;
+    private int sampleSize; // results in the ring buffer for this candidate
+    private Double agreementRate;
+    private Double meanScoreDelta; // shadow score minus champion score
+    private Double meanAbsoluteScoreDelta;
+    private Integer minScoreDelta;
+    private Integer maxScoreDelta;
+    private Map<String, Map<String, Long>> decisions; // champion decision -> shadow decision -> count
+    private long submitted;
+    private long dropped;
+    private long failed;
+}
@@ -0,0 +1,26 @@
+package com.los.credit.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StressTestRequest {
+    private List<Scenario> scenarios;
+    private Boolean refreshSnapshot; // reload the loan book before simulating
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Scenario {
+        private String name;
+        private Integer rateShockBp; // added to each loan's annual rate, e.g. 300 = +3 percentage points
+        private BigDecimal incomeShockPercent; // e.g. -20 = incomes drop 20%
+        private BigDecimal debtShockPercent; // e.g. 10 = existing obligations grow 10%
+    }
+}
@@ -0,0 +1,34 @@
+package com.los.credit.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StressTestResponse {
+    private String ruleVersion;
+    private int loanCount;
+    private LocalDateTime snapshotLoadedAt;
+    private long elapsedMs;
+    private List<ScenarioResult> scenarios; // the unshocked BASELINE first
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ScenarioResult {
+        private String name;
+        private Integer rateShockBp;
+        private BigDecimal incomeShockPercent;
+        private BigDecimal debtShockPercent;
+        private Map<String, Long> decisions;
+        private Map<String, Map<String, Long>> migration; // baseline decision -> scenario decision -> loans
+        private BigDecimal averageDtiRatio; // over scorable loans
+    }
+}
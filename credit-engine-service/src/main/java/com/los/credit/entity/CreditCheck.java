@@ -0,0 +1,57 @@
+package com.los.credit.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read model of credit.credit_checks. Rows are inserted in batches by
+ * {@link com.los.credit.service.CreditCheckWriter} and never updated.
+ */
+@Entity
+@Immutable
+@Table(name = "credit_checks", schema = "credit")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreditCheck {
+
+    @Id
+    private Long id;
+
+    private Long customerId;
+
+    private Long loanId;
+
+    private BigDecimal monthlyIncome;
+
+    private BigDecimal existingDebt;
+
+    private BigDecimal requestedAmount;
+
+    private Long productId;
+
+    private Integer tenor;
+
+    private BigDecimal interestRate;
+
+    private BigDecimal dtiRatio;
+
+    private Integer creditScore;
+
+    @Column(nullable = false, length = 20)
+    private String decision;
+
+    @Column(columnDefinition = "TEXT")
+    private String remarks;
+
+    @Column(length = 50)
+    private String ruleVersion;
+
+    @Column(nullable = false)
+    private LocalDateTime checkedAt;
+}
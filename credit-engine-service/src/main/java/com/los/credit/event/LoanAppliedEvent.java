@@ -0,0 +1,32 @@
+package com.los.credit.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * LOAN_APPLIED event consumed from loan-events (published by loan-service).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanAppliedEvent {
+    public static final String TYPE = "LOAN_APPLIED";
+
+    private String eventType;
+    private Long loanId;
+    private Long customerId;
+    private Long productId;
+    private BigDecimal requestedAmount;
+    private BigDecimal downPayment;
+    private Integer tenor;
+    private BigDecimal interestRate;
+    private BigDecimal monthlyIncome;
+    private BigDecimal existingDebt;
+    private LocalDateTime appliedAt;
+}
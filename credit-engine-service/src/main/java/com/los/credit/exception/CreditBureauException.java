@@ -0,0 +1,11 @@
+package com.los.credit.exception;
+
+public class CreditBureauException extends RuntimeException {
+    public CreditBureauException(String message) {
+        super(message);
+    }
+
+    public CreditBureauException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,25 @@
+package com.los.credit.repository;
+
+import com.los.credit.entity.CreditCheck;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Every lookup is bounded on checked_at so PostgreSQL only scans the partitions in range.
+ */
+@Repository
+public interface CreditCheckRepository extends JpaRepository<CreditCheck, Long> {
+
+    Optional<CreditCheck> findByIdAndCheckedAtBetween(Long id, LocalDateTime from, LocalDateTime to);
+
+    List<CreditCheck> findByCustomerIdAndCheckedAtBetweenOrderByCheckedAtDesc(
+            Long customerId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    List<CreditCheck> findByLoanIdAndCheckedAtBetweenOrderByCheckedAtDesc(
+            Long loanId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+}
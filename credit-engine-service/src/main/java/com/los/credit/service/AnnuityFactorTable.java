@@ -0,0 +1,205 @@
+package com.los.credit.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Preloaded annuity factors for every (annual rate, tenor) pair the loan product catalog allows,
+ * read from loan.loan_products in the shared database. The catalog is polled and the table
+ * rebuilt and swapped whenever a product changes. Rates or tenors outside the catalog are
+ * computed on demand and not cached.
+ * <p>
+ * Rounding matches loan-service's AmortizationEngine, so a DTI is based on the installment the
+ * customer will actually be quoted: monthly rate at scale 4, denominator at scale 10,
+ * installment at scale 2.
+ */
+@Slf4j
+@Component
+public class AnnuityFactorTable {
+
+    public static final int MAX_TENOR = 600;
+    public static final BigDecimal MAX_ANNUAL_RATE = new BigDecimal("999.99");
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal TWELVE = BigDecimal.valueOf(12);
+    private static final long NO_KEY = -1;
+
+    private static final String VERSION_SQL = "SELECT COUNT(*) || ':' || COALESCE(SUM(version), 0) || ':' || " +
+            "COALESCE(MAX(updated_at)::text, '') FROM loan.loan_products";
+    private static final String PRODUCTS_SQL = "SELECT id, interest_rate, min_tenor, max_tenor FROM loan.loan_products";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Snapshot snapshot = new Snapshot("", Map.of(), Map.of());
+
+    public AnnuityFactorTable(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void load() {
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            // loan-service may not have created its schema yet; the poll retries
+            log.warn("Loan product catalog not available yet, annuity factors computed on demand: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${credit.annuity.poll-interval-ms:30000}")
+    public void refreshIfChanged() {
+        try {
+            String version = jdbcTemplate.queryForObject(VERSION_SQL, String.class);
+            if (!snapshot.version.equals(version)) {
+                log.info("Loan product catalog changed ({} -> {}), rebuilding annuity factors", snapshot.version, version);
+                reload();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not poll loan product catalog: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void reload() {
+        String version = jdbcTemplate.queryForObject(VERSION_SQL, String.class);
+        Map<Long, BigDecimal> rates = new HashMap<>();
+        Map<Long, AnnuityFactor> factors = new HashMap<>();
+        jdbcTemplate.query(PRODUCTS_SQL, rs -> {
+            BigDecimal rate = rs.getBigDecimal("interest_rate");
+            if (rate == null) {
+                return;
+            }
+            rates.put(rs.getLong("id"), rate);
+            int maxTenor = Math.min(rs.getInt("max_tenor"), MAX_TENOR);
+            for (int tenor = Math.max(rs.getInt("min_tenor"), 1); tenor <= maxTenor; tenor++) {
+                long key = key(rate, tenor);
+                if (key != NO_KEY && !factors.containsKey(key)) {
+                    factors.put(key, AnnuityFactor.compute(rate, tenor));
+                }
+            }
+        });
+        snapshot = new Snapshot(version, Map.copyOf(rates), Map.copyOf(factors));
+        log.info("Annuity factor table loaded: {} products, {} (rate, tenor) pairs (catalog version {})",
+                rates.size(), factors.size(), version);
+    }
+
+    /**
+     * Annual interest rate of a catalog product, or null when the product is unknown.
+     */
+    public BigDecimal productRate(Long productId) {
+        return snapshot.ratesByProduct.get(productId);
+    }
+
+    public AnnuityFactor factor(BigDecimal annualRate, int tenor) {
+        if (tenor < 1 || tenor > MAX_TENOR) {
+            throw new IllegalArgumentException("Tenor must be between 1 and " + MAX_TENOR + " months");
+        }
+        if (annualRate.signum() < 0 || annualRate.compareTo(MAX_ANNUAL_RATE) > 0) {
+            throw new IllegalArgumentException("Interest rate must be between 0 and " + MAX_ANNUAL_RATE + " % per year");
+        }
+        long key = key(annualRate, tenor);
+        AnnuityFactor factor = key == NO_KEY ? null : snapshot.factors.get(key);
+        return factor != null ? factor : AnnuityFactor.compute(annualRate, tenor);
+    }
+
+    public int size() {
+        return snapshot.factors.size();
+    }
+
+    // Rate in hundredths of a percent in the high bits, tenor in the low 16; catalog rates are DECIMAL(5,2)
+    private static long key(BigDecimal annualRate, int tenor) {
+        BigDecimal hundredths = annualRate.movePointRight(2);
+        if (hundredths.signum() < 0 || hundredths.compareTo(BigDecimal.valueOf(Integer.MAX_VALUE)) > 0
+                || hundredths.stripTrailingZeros().scale() > 0) {
+            return NO_KEY;
+        }
+        return (hundredths.longValue() << 16) | tenor;
+    }
+
+    private record Snapshot(String version, Map<Long, BigDecimal> ratesByProduct, Map<Long, AnnuityFactor> factors) {
+    }
+
+    /**
+     * The annuity formula for one (rate, tenor) pair, reduced to {@code installment = principal * m / d}.
+     * When {@code m} and {@code d} are small enough for {@link FixedPointScorer#mulDivHalfUp}, the
+     * installment in cents is a single multiply-divide on longs; otherwise callers use {@link #installment}.
+     */
+    public static final class AnnuityFactor {
+        private final BigDecimal monthlyRate;
+        private final BigDecimal denominator; // null when the rate is zero
+        private final int tenor;
+        private final long multiplier;
+        private final long divisor;
+        private final boolean fixedPoint;
+
+        private AnnuityFactor(BigDecimal monthlyRate, BigDecimal denominator, int tenor) {
+            this.monthlyRate = monthlyRate;
+            this.denominator = denominator;
+            this.tenor = tenor;
+            if (denominator == null) {
+                this.multiplier = 1;
+                this.divisor = tenor;
+            } else {
+                // principal * (R / 10^4) / (D / 10^10), in cents: principalCents * R * 10^6 / D
+                // reduced by their gcd, which leaves the rational and so the rounding unchanged
+                BigInteger m = monthlyRate.setScale(4).unscaledValue().multiply(BigInteger.valueOf(1_000_000L));
+                BigInteger d = denominator.setScale(10).unscaledValue();
+                BigInteger gcd = m.gcd(d);
+                this.multiplier = m.divide(gcd).longValueExact();
+                this.divisor = d.divide(gcd).longValueExact();
+            }
+            // mulDivHalfUp forms (a % d) * m, which stays below d * m
+            this.fixedPoint = divisor > 0 && multiplier <= Long.MAX_VALUE / divisor;
+        }
+
+        static AnnuityFactor compute(BigDecimal annualRate, int tenor) {
+            BigDecimal monthlyRate = annualRate.divide(HUNDRED, 4, RoundingMode.HALF_UP)
+                    .divide(TWELVE, 4, RoundingMode.HALF_UP);
+            if (monthlyRate.compareTo(BigDecimal.ZERO) == 0) {
+                return new AnnuityFactor(monthlyRate, null, tenor);
+            }
+            BigDecimal denominator = BigDecimal.ONE.subtract(
+                    BigDecimal.ONE.divide(
+                            BigDecimal.ONE.add(monthlyRate).pow(tenor), 10, RoundingMode.HALF_UP
+                    )
+            );
+            return new AnnuityFactor(monthlyRate, denominator, tenor);
+        }
+
+        public int getTenor() {
+            return tenor;
+        }
+
+        public BigDecimal getMonthlyRate() {
+            return monthlyRate;
+        }
+
+        boolean isFixedPoint() {
+            return fixedPoint;
+        }
+
+        /**
+         * Installment in cents for a principal already within {@link FixedPointScorer#MAX_CENTS}.
+         * Only valid when {@link #isFixedPoint()}.
+         */
+        long installmentCents(long principalCents) {
+            return FixedPointScorer.mulDivHalfUp(principalCents, multiplier, divisor);
+        }
+
+        public BigDecimal installment(BigDecimal principal) {
+            if (denominator == null) {
+                return principal.divide(BigDecimal.valueOf(tenor), 2, RoundingMode.HALF_UP);
+            }
+            return principal.multiply(monthlyRate).divide(denominator, 2, RoundingMode.HALF_UP);
+        }
+    }
+}
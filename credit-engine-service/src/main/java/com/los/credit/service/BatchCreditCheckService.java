@@ -0,0 +1,138 @@
+package com.los.credit.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.los.credit.dto.CreditCheckRequest;
+import com.los.credit.dto.CreditCheckResponse;
+import com.los.credit.exception.CreditBureauException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Scores a stream of credit check requests in parallel and writes the responses back
+ * as NDJSON in input order. At most {@code window} requests are in flight, so memory
+ * stays flat no matter how large the upload is.
+ * <p>
+ * The scoring pool is sized for CPU work only. Requests without a declared existing debt
+ * first fetch the bureau report asynchronously on the bureau's I/O pool, and are scored
+ * once it arrives, so a slow bureau never parks scoring threads.
+ */
+@Slf4j
+@Service
+public class BatchCreditCheckService {
+
+    private final CreditEngineService creditEngineService;
+    private final CreditBureauService creditBureauService;
+    private final ObjectMapper objectMapper;
+    private final ForkJoinPool scoringPool;
+    private final int window;
+
+    public BatchCreditCheckService(
+            CreditEngineService creditEngineService,
+            CreditBureauService creditBureauService,
+            ObjectMapper objectMapper,
+            @Value("${credit.batch.parallelism:0}") int parallelism,
+            @Value("${credit.batch.window:1024}") int window) {
+        this.creditEngineService = creditEngineService;
+        this.creditBureauService = creditBureauService;
+        this.objectMapper = objectMapper;
+        this.scoringPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.window = window;
+    }
+
+    /**
+     * Read requests from {@code in} (a JSON array or NDJSON, both parse the same way)
+     * and write one response line per request to {@code out}.
+     */
+    public void checkBatch(InputStream in, OutputStream out) throws IOException {
+        Deque<CompletableFuture<CreditCheckResponse>> inFlight = new ArrayDeque<>(window);
+        int scored = 0;
+        long start = System.nanoTime();
+
+        try (MappingIterator<CreditCheckRequest> requests =
+                     objectMapper.readerFor(CreditCheckRequest.class).readValues(in)) {
+            while (requests.hasNextValue()) {
+                CreditCheckRequest request = requests.nextValue();
+                inFlight.addLast(submit(request));
+
+                // Emit finished heads eagerly; block on the head only when the window is full
+                while (!inFlight.isEmpty() && (inFlight.size() >= window || inFlight.peekFirst().isDone())) {
+                    write(inFlight.removeFirst().join(), out);
+                    scored++;
+                }
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            write(inFlight.removeFirst().join(), out);
+            scored++;
+        }
+        out.flush();
+
+        log.info("Batch credit check scored {} requests in {} ms",
+                scored, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private CompletableFuture<CreditCheckResponse> submit(CreditCheckRequest request) {
+        if (request.getExistingDebt() == null && request.getCustomerId() != null
+                && request.getRequestedAmount() != null && request.getMonthlyIncome() != null) {
+            return creditBureauService.getReportAsync(request.getCustomerId())
+                    .handleAsync((report, e) -> {
+                        if (e != null) {
+                            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                            return error(request, "Unable to score request: " + cause.getMessage());
+                        }
+                        request.setExistingDebt(report.getMonthlyDebtPayments());
+                        return score(request);
+                    }, scoringPool);
+        }
+        return CompletableFuture.supplyAsync(() -> score(request), scoringPool);
+    }
+
+    private CreditCheckResponse score(CreditCheckRequest request) {
+        // One malformed item must not abort the rest of the stream
+        if (request.getRequestedAmount() == null || request.getMonthlyIncome() == null) {
+            return error(request, "requestedAmount and monthlyIncome are required");
+        }
+        try {
+            return creditEngineService.evaluate(request);
+        } catch (ArithmeticException | IllegalArgumentException | CreditBureauException e) {
+            return error(request, "Unable to score request: " + e.getMessage());
+        } catch (RuntimeException e) {
+            // A bug on one item still only fails that item; the rest of the stream is already in flight
+            log.error("Unexpected failure scoring batch item for customer {}", request.getCustomerId(), e);
+            return error(request, "Unable to score request: " + e.getMessage());
+        }
+    }
+
+    private CreditCheckResponse error(CreditCheckRequest request, String remarks) {
+        return CreditCheckResponse.builder()
+                .customerId(request.getCustomerId())
+                .loanId(request.getLoanId())
+                .decision("ERROR")
+                .remarks(remarks)
+                .checkedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void write(CreditCheckResponse response, OutputStream out) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(response));
+        out.write('\n');
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scoringPool.shutdown();
+    }
+}
@@ -0,0 +1,17 @@
+package com.los.credit.service;
+
+import com.los.credit.dto.CreditBureauReport;
+
+/**
+ * Port to the external credit bureau that reports a customer's existing obligations.
+ * Calls are slow and billed per request, so callers go through {@link CreditBureauService}
+ * rather than using an implementation directly.
+ */
+public interface CreditBureauClient {
+
+    /**
+     * Fetch the current report for a customer. May block.
+     * Throws {@link com.los.credit.exception.CreditBureauException} when the bureau could not answer.
+     */
+    CreditBureauReport fetchReport(Long customerId);
+}
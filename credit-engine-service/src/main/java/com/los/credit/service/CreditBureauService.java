@@ -0,0 +1,267 @@
+package com.los.credit.service;
+
+import com.los.credit.dto.CreditBureauReport;
+import com.los.credit.exception.CreditBureauException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cached, coalescing access to the {@link CreditBureauClient}.
+ * Reports are kept per customer for {@code credit.bureau.cache.ttl-seconds}, up to
+ * {@code max-size} customers. The first check that misses performs the bureau call on its own
+ * thread; concurrent checks for the same customer wait on that call instead of issuing their own.
+ * Failed lookups are not cached, so the next check tries the bureau again.
+ * <p>
+ * Batch callers use {@link #getReportAsync} instead, which runs the bureau call on a bounded
+ * pool of {@code credit.bureau.io-threads} I/O threads, so scoring threads and Kafka listener
+ * threads never block on the bureau. When that pool's queue is full the lookup fails at once.
+ * <p>
+ * The TTL is the same for every entry, so insertion order is expiry order: a FIFO of entries
+ * serves both for dropping expired reports and for evicting the oldest ones when full.
+ */
+@Slf4j
+@Service
+public class CreditBureauService {
+
+    private final CreditBureauClient bureauClient;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final long waitTimeoutMs;
+
+    private final Map<Long, Entry> cache = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter coalescedCounter;
+    private final Counter evictionCounter;
+    private final Counter rejectedCounter;
+    private final Timer upstreamSuccessTimer;
+    private final Timer upstreamFailureTimer;
+    private final ThreadPoolExecutor ioPool;
+
+    public CreditBureauService(
+            CreditBureauClient bureauClient,
+            MeterRegistry meterRegistry,
+            @Value("${credit.bureau.cache.ttl-seconds:900}") long ttlSeconds,
+            @Value("${credit.bureau.cache.max-size:100000}") int maxSize,
+            @Value("${credit.bureau.wait-timeout-ms:10000}") long waitTimeoutMs,
+            @Value("${credit.bureau.io-threads:64}") int ioThreads,
+            @Value("${credit.bureau.io-queue-capacity:2048}") int ioQueueCapacity) {
+        this.bureauClient = bureauClient;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxSize = maxSize;
+        this.waitTimeoutMs = waitTimeoutMs;
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.ioPool = new ThreadPoolExecutor(
+                ioThreads, ioThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(ioQueueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "bureau-io-" + threadCounter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+        this.coalescedCounter = lookupCounter(meterRegistry, "coalesced");
+        this.evictionCounter = Counter.builder("los.credit.bureau.cache.evictions")
+                .description("Bureau reports dropped from the cache before they expired")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("los.credit.bureau.io.rejected")
+                .description("Asynchronous bureau lookups failed because the I/O pool queue was full")
+                .register(meterRegistry);
+        this.upstreamSuccessTimer = upstreamTimer(meterRegistry, "success");
+        this.upstreamFailureTimer = upstreamTimer(meterRegistry, "failure");
+
+        Gauge.builder("los.credit.bureau.cache.size", cache, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("los.credit.bureau.cache.hit_ratio", this, s -> ratio(s.hitCounter.count(),
+                        s.hitCounter.count() + s.missCounter.count() + s.coalescedCounter.count()))
+                .description("Share of lookups answered from a cached report")
+                .register(meterRegistry);
+        Gauge.builder("los.credit.bureau.coalescing_ratio", this, s -> ratio(s.coalescedCounter.count(),
+                        s.missCounter.count() + s.coalescedCounter.count()))
+                .description("Share of cache misses that joined a bureau call already in flight")
+                .register(meterRegistry);
+        Gauge.builder("los.credit.bureau.io.queued", ioPool, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    public CreditBureauReport getReport(Long customerId) {
+        return await(customerId, lookup(customerId, false));
+    }
+
+    /**
+     * The report of one customer without blocking the caller: a miss is fetched on the I/O pool.
+     * The returned future fails with a {@link CreditBureauException} (wrapped in a
+     * {@link CompletionException}) if the lookup fails or takes longer than {@code wait-timeout-ms}.
+     */
+    public CompletableFuture<CreditBureauReport> getReportAsync(Long customerId) {
+        return lookup(customerId, true).future.copy()
+                .orTimeout(waitTimeoutMs, TimeUnit.MILLISECONDS)
+                .handle((report, e) -> {
+                    if (e != null) {
+                        throw failure(customerId, e);
+                    }
+                    return report;
+                });
+    }
+
+    private Entry lookup(Long customerId, boolean async) {
+        while (true) {
+            Entry entry = cache.get(customerId);
+            if (entry != null) {
+                if (!entry.isExpired(System.nanoTime())) {
+                    (entry.future.isDone() ? hitCounter : coalescedCounter).increment();
+                    return entry;
+                }
+                cache.remove(customerId, entry);
+            }
+
+            Entry loading = new Entry(customerId);
+            if (cache.putIfAbsent(customerId, loading) != null) {
+                continue; // another check started a lookup first; join it
+            }
+            missCounter.increment();
+            insertionOrder.add(loading);
+            evictIfNeeded();
+            if (async) {
+                loadAsync(loading);
+            } else {
+                load(loading);
+            }
+            return loading;
+        }
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private void load(Entry entry) {
+        long start = System.nanoTime();
+        try {
+            CreditBureauReport report = bureauClient.fetchReport(entry.customerId);
+            long now = System.nanoTime();
+            upstreamSuccessTimer.record(now - start, TimeUnit.NANOSECONDS);
+            entry.expiresAt = now + ttlNanos;
+            entry.future.complete(report);
+        } catch (RuntimeException e) {
+            upstreamFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            cache.remove(entry.customerId, entry);
+            entry.future.completeExceptionally(e);
+        }
+    }
+
+    private void loadAsync(Entry entry) {
+        try {
+            ioPool.execute(() -> load(entry));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            cache.remove(entry.customerId, entry);
+            entry.future.completeExceptionally(new CreditBureauException(
+                    "Bureau lookup queue is full, no report for customer " + entry.customerId));
+        }
+    }
+
+    private CreditBureauReport await(Long customerId, Entry entry) {
+        try {
+            return entry.future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            throw failure(customerId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CreditBureauException("Interrupted waiting for bureau report of customer " + customerId, e);
+        }
+    }
+
+    private static CreditBureauException failure(Long customerId, Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof CreditBureauException bureauException) {
+            return bureauException;
+        }
+        if (cause instanceof TimeoutException) {
+            return new CreditBureauException("Timed out waiting for bureau report of customer " + customerId, cause);
+        }
+        return new CreditBureauException("Bureau lookup failed for customer " + customerId, cause);
+    }
+
+    private void evictIfNeeded() {
+        long now = System.nanoTime();
+        Entry head;
+        while ((head = insertionOrder.peek()) != null
+                && (head.isExpired(now) || cache.size() > maxSize || cache.get(head.customerId) != head)) {
+            if (!insertionOrder.remove(head)) {
+                continue;
+            }
+            // Only the entry this queue node was created for; a newer one for the same customer stays
+            if (cache.remove(head.customerId, head) && !head.isExpired(now)) {
+                evictionCounter.increment();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ioPool.shutdownNow();
+    }
+
+    private static double ratio(double part, double total) {
+        return total == 0 ? 0 : part / total;
+    }
+
+    private static Counter lookupCounter(MeterRegistry registry, String result) {
+        return Counter.builder("los.credit.bureau.lookups")
+                .description("Bureau report lookups by how they were answered")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Timer upstreamTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("los.credit.bureau.upstream")
+                .description("Latency of calls to the credit bureau")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    private static final class Entry {
+        final Long customerId;
+        final CompletableFuture<CreditBureauReport> future = new CompletableFuture<>();
+        volatile long expiresAt = Long.MAX_VALUE; // set once the report has arrived
+
+        Entry(Long customerId) {
+            this.customerId = customerId;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.los.credit.service;
+
+import com.los.credit.dto.CreditCheckResponse;
+import com.los.credit.entity.CreditCheck;
+import com.los.credit.repository.CreditCheckRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads persisted credit checks. Results become visible once the
+ * {@link CreditCheckWriter} has flushed them, normally within one linger interval.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CreditCheckHistoryService {
+
+    // Covers clock skew between id and checked_at, including DST shifts of the local time
+    private static final Duration ID_WINDOW = Duration.ofDays(1);
+
+    private final CreditCheckRepository creditCheckRepository;
+
+    public Optional<CreditCheckResponse> findById(Long id) {
+        // The id carries its issue time, so the lookup only touches the partitions around it
+        LocalDateTime issuedAt = LocalDateTime.ofInstant(CreditCheckIdGenerator.timestampOf(id), ZoneId.systemDefault());
+        return creditCheckRepository.findByIdAndCheckedAtBetween(id, issuedAt.minus(ID_WINDOW), issuedAt.plus(ID_WINDOW))
+                .map(this::mapToResponse);
+    }
+
+    public List<CreditCheckResponse> findByCustomer(Long customerId, LocalDateTime from, LocalDateTime to, int limit) {
+        return creditCheckRepository.findByCustomerIdAndCheckedAtBetweenOrderByCheckedAtDesc(
+                        customerId, from, to, PageRequest.of(0, limit))
+                .stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    public List<CreditCheckResponse> findByLoan(Long loanId, LocalDateTime from, LocalDateTime to, int limit) {
+        return creditCheckRepository.findByLoanIdAndCheckedAtBetweenOrderByCheckedAtDesc(
+                        loanId, from, to, PageRequest.of(0, limit))
+                .stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    private CreditCheckResponse mapToResponse(CreditCheck check) {
+        return CreditCheckResponse.builder()
+                .id(check.getId())
+                .customerId(check.getCustomerId())
+                .loanId(check.getLoanId())
+                .monthlyIncome(check.getMonthlyIncome())
+                .existingDebt(check.getExistingDebt())
+                .requestedAmount(check.getRequestedAmount())
+                .productId(check.getProductId())
+                .tenor(check.getTenor())
+                .interestRate(check.getInterestRate())
+                .dtiRatio(check.getDtiRatio())
+                .creditScore(check.getCreditScore())
+                .decision(check.getDecision())
+                .remarks(check.getRemarks())
+                .ruleVersion(check.getRuleVersion())
+                .checkedAt(check.getCheckedAt())
+                .build();
+    }
+}
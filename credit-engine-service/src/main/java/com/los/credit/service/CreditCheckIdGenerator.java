@@ -0,0 +1,59 @@
+package com.los.credit.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Time-ordered 64-bit ids for credit checks: 41 bits of milliseconds since {@link #EPOCH},
+ * 10 bits of node id and a 12-bit per-millisecond sequence. Ids are unique as long as every
+ * running instance has its own {@code credit.id.node-id}.
+ * <p>
+ * The timestamp never moves backwards: if the wall clock does, or the 4096 ids of one
+ * millisecond are used up, the generator keeps counting on from the last millisecond it issued.
+ */
+@Component
+public class CreditCheckIdGenerator {
+
+    static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    private final long nodeBits;
+
+    private long lastTimestamp = -1;
+    private long sequence;
+
+    public CreditCheckIdGenerator(@Value("${credit.id.node-id:0}") long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("credit.id.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+    }
+
+    public synchronized long nextId() {
+        long timestamp = Math.max(System.currentTimeMillis() - EPOCH, lastTimestamp);
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                timestamp++;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastTimestamp = timestamp;
+        return (timestamp << TIMESTAMP_SHIFT) | nodeBits | sequence;
+    }
+
+    /**
+     * The instant an id was issued at, within the drift described above.
+     */
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> TIMESTAMP_SHIFT) + EPOCH);
+    }
+}
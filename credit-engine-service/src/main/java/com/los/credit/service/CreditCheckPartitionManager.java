@@ -0,0 +1,57 @@
+package com.los.credit.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Keeps monthly partitions of credit.credit_checks created ahead of time, so rows land in
+ * their own month rather than the default partition. Creating a partition is idempotent;
+ * several instances may run this concurrently.
+ */
+@Slf4j
+@Component
+public class CreditCheckPartitionManager {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    public CreditCheckPartitionManager(
+            JdbcTemplate jdbcTemplate,
+            @Value("${credit.history.partitions-ahead:2}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @PostConstruct
+    @Scheduled(cron = "${credit.history.partition-cron:0 0 1 * * *}")
+    public void ensurePartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String name = "credit_checks_" + month.format(SUFFIX);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS credit." + name +
+                    " PARTITION OF credit.credit_checks FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        } catch (DataAccessException e) {
+            // Typically rows for this month already sit in the default partition
+            log.error("Could not create partition credit.{}: {}", name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.los.credit.service;
+
+import com.los.credit.dto.CreditCheckResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persists credit check results to credit.credit_checks off the scoring path.
+ * Scoring threads only offer to a bounded queue; a single writer thread drains it in
+ * JDBC batches, waiting at most {@code linger-ms} for a batch to fill. When the queue is
+ * full the result is dropped and counted rather than slowing down scoring.
+ * Inserts ignore rows that already exist, so a retried batch is harmless.
+ */
+@Slf4j
+@Component
+public class CreditCheckWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO credit.credit_checks " +
+            "(id, customer_id, loan_id, monthly_income, existing_debt, requested_amount, " +
+            "product_id, tenor, interest_rate, dti_ratio, credit_score, decision, remarks, rule_version, checked_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<CreditCheckResponse> queue;
+    private final int batchSize;
+    private final long lingerMs;
+    private final int maxAttempts;
+    private final Thread writerThread;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private long droppedReported;
+
+    private volatile boolean running = true;
+
+    public CreditCheckWriter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${credit.history.queue-capacity:100000}") int queueCapacity,
+            @Value("${credit.history.batch-size:500}") int batchSize,
+            @Value("${credit.history.linger-ms:50}") long lingerMs,
+            @Value("${credit.history.max-attempts:3}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.lingerMs = lingerMs;
+        this.maxAttempts = maxAttempts;
+        this.writerThread = new Thread(this::drainLoop, "credit-check-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queue a result for persistence. Never blocks.
+     */
+    public void submit(CreditCheckResponse check) {
+        if (!running || !queue.offer(check)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long writtenCount() {
+        return written.get();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public long failedCount() {
+        return failed.get();
+    }
+
+    public int queuedCount() {
+        return queue.size();
+    }
+
+    private void drainLoop() {
+        List<CreditCheckResponse> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                CreditCheckResponse first = queue.poll(lingerMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    reportDrops();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) == 0) {
+                        long remaining = deadline - System.nanoTime();
+                        CreditCheckResponse next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+            reportDrops();
+        }
+    }
+
+    private void write(List<CreditCheckResponse> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, check) -> {
+                    ps.setLong(1, check.getId());
+                    ps.setObject(2, check.getCustomerId(), Types.BIGINT);
+                    ps.setObject(3, check.getLoanId(), Types.BIGINT);
+                    ps.setBigDecimal(4, check.getMonthlyIncome());
+                    ps.setBigDecimal(5, check.getExistingDebt());
+                    ps.setBigDecimal(6, check.getRequestedAmount());
+                    ps.setObject(7, check.getProductId(), Types.BIGINT);
+                    ps.setObject(8, check.getTenor(), Types.INTEGER);
+                    ps.setBigDecimal(9, check.getInterestRate());
+                    ps.setBigDecimal(10, check.getDtiRatio());
+                    ps.setObject(11, check.getCreditScore(), Types.INTEGER);
+                    ps.setString(12, check.getDecision());
+                    ps.setString(13, check.getRemarks());
+                    ps.setString(14, check.getRuleVersion());
+                    ps.setTimestamp(15, Timestamp.valueOf(check.getCheckedAt()));
+                });
+                written.addAndGet(batch.size());
+                return;
+            } catch (DataAccessException e) {
+                if (attempt >= maxAttempts) {
+                    failed.addAndGet(batch.size());
+                    log.error("Failed to persist {} credit checks after {} attempts", batch.size(), attempt, e);
+                    return;
+                }
+                log.warn("Persisting {} credit checks failed (attempt {}), retrying: {}",
+                        batch.size(), attempt, e.getMessage());
+                try {
+                    Thread.sleep(100L * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    failed.addAndGet(batch.size());
+                    return;
+                }
+            }
+        }
+    }
+
+    private void reportDrops() {
+        long total = dropped.get();
+        if (total != droppedReported) {
+            log.warn("Credit check history queue full, {} results dropped ({} total)", total - droppedReported, total);
+            droppedReported = total;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // The writer notices within one linger interval and drains what is left
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        if (!queue.isEmpty()) {
+            log.warn("Credit check writer stopped with {} results unsaved", queue.size());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.los.credit.service;
 
 import com.los.credit.dto.CreditCheckRequest;
 import com.los.credit.dto.CreditCheckResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -11,148 +12,144 @@ import java.time.LocalDateTime;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class CreditEngineService {
 
-    private static final BigDecimal DTI_THRESHOLD_AUTO_REJECT = new BigDecimal("40.00");
-    private static final BigDecimal DTI_THRESHOLD_REVIEW = new BigDecimal("30.00");
-    private static final BigDecimal HIGH_INCOME_THRESHOLD = new BigDecimal("20000000");
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    // Terms assumed when a request names neither: 24 months at 1% per month
+    private static final int DEFAULT_TENOR = 24;
+    private static final BigDecimal DEFAULT_ANNUAL_RATE = new BigDecimal("12");
+
+    private final DecisionRuleEngine decisionRuleEngine;
+    private final AnnuityFactorTable annuityFactorTable;
+    private final CreditBureauService creditBureauService;
+    private final ShadowScoringService shadowScoringService;
+    private final CreditCheckIdGenerator idGenerator;
+    private final CreditCheckWriter creditCheckWriter;
 
     public CreditCheckResponse performCreditCheck(CreditCheckRequest request) {
         log.info("Performing credit check for customer: {}", request.getCustomerId());
 
-        // Calculate DTI (Debt-to-Income Ratio)
-        BigDecimal dtiRatio = calculateDTI(request);
+        CreditCheckResponse response = evaluate(request);
 
-        // Calculate credit score (simplified)
-        Integer creditScore = calculateCreditScore(request, dtiRatio);
+        log.info("Credit check completed - DTI: {}%, Score: {}, Decision: {} (rules {})", 
+                response.getDtiRatio(), response.getCreditScore(), response.getDecision(), response.getRuleVersion());
+        return response;
+    }
 
-        // Make decision
-        String decision = makeDecision(dtiRatio, creditScore, request.getMonthlyIncome());
-        String remarks = generateRemarks(dtiRatio, creditScore, decision);
+    /**
+     * Score a single request without logging; used directly by the batch path.
+     * Existing debt the caller did not supply is taken from the credit bureau report.
+     * The new installment uses the request's tenor and rate (or its product's rate) through one
+     * annuity factor lookup. Features are computed on the fixed-point core; amounts or factors it
+     * cannot represent exactly get their DTI from the BigDecimal path. Scoring and the decision
+     * come from one rule table snapshot, whose version is recorded on the response. The result
+     * is queued for persistence, and for a registered shadow scorer, without waiting for either.
+     */
+    public CreditCheckResponse evaluate(CreditCheckRequest request) {
+        DecisionTable rules = decisionRuleEngine.current();
+        int tenor = request.getTenor() != null ? request.getTenor() : DEFAULT_TENOR;
+        BigDecimal annualRate = resolveAnnualRate(request);
+        AnnuityFactorTable.AnnuityFactor annuity = annuityFactorTable.factor(annualRate, tenor);
+        BigDecimal existingDebt = resolveExistingDebt(request);
+
+        long principalCents = FixedPointScorer.toCents(request.getRequestedAmount());
+        long incomeCents = FixedPointScorer.toCents(request.getMonthlyIncome());
+        long debtCents = FixedPointScorer.toCents(existingDebt);
+
+        BigDecimal dtiRatio;
+        long dtiBp;
+        int creditScore;
+        boolean exact;
+        if (principalCents == FixedPointScorer.NOT_REPRESENTABLE
+                || incomeCents == FixedPointScorer.NOT_REPRESENTABLE
+                || debtCents == FixedPointScorer.NOT_REPRESENTABLE
+                || !annuity.isFixedPoint()) {
+            dtiRatio = calculateDTI(request.getRequestedAmount(), existingDebt, request.getMonthlyIncome(), annuity);
+            dtiBp = FixedPointScorer.dtiBasisPointsSaturated(dtiRatio);
+            creditScore = rules.score(dtiBp, request.getMonthlyIncome(), existingDebt);
+            incomeCents = FixedPointScorer.toCentsFloorSaturated(request.getMonthlyIncome());
+            exact = false;
+        } else {
+            long installmentCents = annuity.installmentCents(principalCents);
+            dtiBp = FixedPointScorer.dtiBasisPoints(debtCents, installmentCents, incomeCents);
+            dtiRatio = BigDecimal.valueOf(dtiBp, 2);
+            creditScore = rules.score(dtiBp, incomeCents, debtCents);
+            exact = true;
+        }
 
-        log.info("Credit check completed - DTI: {}%, Score: {}, Decision: {}", 
-                dtiRatio, creditScore, decision);
+        DecisionTable.Outcome outcome = rules.decide(dtiBp, creditScore, incomeCents);
+        if (shadowScoringService.isActive()) {
+            shadowScoringService.submit(
+                    new ShadowScoringService.Features(dtiBp, incomeCents, debtCents,
+                            request.getMonthlyIncome(), existingDebt, exact),
+                    rules, creditScore, outcome.decision());
+        }
 
-        return CreditCheckResponse.builder()
-                .id(System.currentTimeMillis()) // Simulated ID
+        CreditCheckResponse response = CreditCheckResponse.builder()
+                .id(idGenerator.nextId())
                 .customerId(request.getCustomerId())
                 .loanId(request.getLoanId())
                 .monthlyIncome(request.getMonthlyIncome())
-                .existingDebt(request.getExistingDebt())
+                .existingDebt(existingDebt)
                 .requestedAmount(request.getRequestedAmount())
+                .productId(request.getProductId())
+                .tenor(tenor)
+                .interestRate(annualRate)
                 .dtiRatio(dtiRatio)
                 .creditScore(creditScore)
-                .decision(decision)
-                .remarks(remarks)
+                .decision(outcome.decision())
+                .remarks(generateRemarks(dtiRatio, creditScore, outcome))
+                .ruleVersion(rules.version())
                 .checkedAt(LocalDateTime.now())
                 .build();
+        creditCheckWriter.submit(response);
+        return response;
     }
 
-    private BigDecimal calculateDTI(CreditCheckRequest request) {
-        // Calculate monthly installment (simplified - assume 24 months, 12% interest)
-        BigDecimal monthlyRate = new BigDecimal("0.01"); // 1% per month
-        int tenor = 24;
-        
-        BigDecimal principal = request.getRequestedAmount();
-        BigDecimal numerator = principal.multiply(monthlyRate);
-        BigDecimal denominator = BigDecimal.ONE.subtract(
-                BigDecimal.ONE.divide(
-                        BigDecimal.ONE.add(monthlyRate).pow(tenor), 10, RoundingMode.HALF_UP
-                )
-        );
-        BigDecimal monthlyInstallment = numerator.divide(denominator, 2, RoundingMode.HALF_UP);
-
-        // DTI = (existing debt + new installment) / monthly income
-        BigDecimal totalDebt = request.getExistingDebt().add(monthlyInstallment);
-        BigDecimal dti = totalDebt.divide(request.getMonthlyIncome(), 4, RoundingMode.HALF_UP)
-                .multiply(new BigDecimal("100"));
-
-        return dti.setScale(2, RoundingMode.HALF_UP);
-    }
-
-    private Integer calculateCreditScore(CreditCheckRequest request, BigDecimal dtiRatio) {
-        int score = 700; // Base score
-
-        // DTI impact (-200 to +100)
-        if (dtiRatio.compareTo(new BigDecimal("10")) < 0) {
-            score += 100;
-        } else if (dtiRatio.compareTo(new BigDecimal("20")) < 0) {
-            score += 50;
-        } else if (dtiRatio.compareTo(new BigDecimal("30")) < 0) {
-            score += 20;
-        } else if (dtiRatio.compareTo(new BigDecimal("40")) < 0) {
-            score -= 50;
-        } else {
-            score -= 200;
+    private BigDecimal resolveExistingDebt(CreditCheckRequest request) {
+        if (request.getExistingDebt() != null) {
+            return request.getExistingDebt();
         }
-
-        // Income level impact (0 to +100)
-        if (request.getMonthlyIncome().compareTo(HIGH_INCOME_THRESHOLD) >= 0) {
-            score += 100;
-        } else if (request.getMonthlyIncome().compareTo(new BigDecimal("10000000")) >= 0) {
-            score += 50;
-        }
-
-        // Existing debt impact (-100 to 0)
-        if (request.getExistingDebt().compareTo(request.getMonthlyIncome()) > 0) {
-            score -= 100;
-        } else if (request.getExistingDebt().compareTo(request.getMonthlyIncome().divide(new BigDecimal("2"), 2, RoundingMode.HALF_UP)) > 0) {
-            score -= 50;
+        if (request.getCustomerId() == null) {
+            throw new IllegalArgumentException("existingDebt is required when no customerId is given");
         }
-
-        // Ensure score is in valid range
-        score = Math.max(300, Math.min(850, score));
-
-        return score;
+        return creditBureauService.getReport(request.getCustomerId()).getMonthlyDebtPayments();
     }
 
-    private String makeDecision(BigDecimal dtiRatio, Integer creditScore, BigDecimal monthlyIncome) {
-        // Auto reject conditions
-        if (dtiRatio.compareTo(DTI_THRESHOLD_AUTO_REJECT) > 0) {
-            return "REJECTED";
+    private BigDecimal resolveAnnualRate(CreditCheckRequest request) {
+        if (request.getInterestRate() != null) {
+            return request.getInterestRate();
         }
-        if (creditScore < 500) {
-            return "REJECTED";
+        if (request.getProductId() != null) {
+            BigDecimal productRate = annuityFactorTable.productRate(request.getProductId());
+            if (productRate == null) {
+                throw new IllegalArgumentException("Unknown loan product: " + request.getProductId());
+            }
+            return productRate;
         }
+        return DEFAULT_ANNUAL_RATE;
+    }
 
-        // Auto approve conditions (low risk)
-        if (dtiRatio.compareTo(new BigDecimal("20")) < 0 && 
-            creditScore >= 750 && 
-            monthlyIncome.compareTo(HIGH_INCOME_THRESHOLD) >= 0) {
-            return "APPROVED";
-        }
+    /**
+     * Reference BigDecimal DTI, kept for amounts outside the fixed-point range.
+     */
+    private BigDecimal calculateDTI(BigDecimal requestedAmount, BigDecimal existingDebt, BigDecimal monthlyIncome,
+                                    AnnuityFactorTable.AnnuityFactor annuity) {
+        BigDecimal monthlyInstallment = annuity.installment(requestedAmount);
 
-        // Manual review needed
-        if (dtiRatio.compareTo(DTI_THRESHOLD_REVIEW) > 0 || creditScore < 650) {
-            return "REVIEW";
-        }
+        // DTI = (existing debt + new installment) / monthly income
+        BigDecimal totalDebt = existingDebt.add(monthlyInstallment);
+        BigDecimal dti = totalDebt.divide(monthlyIncome, 4, RoundingMode.HALF_UP)
+                .multiply(HUNDRED);
 
-        // Default to review for safety
-        return "REVIEW";
+        return dti.setScale(2, RoundingMode.HALF_UP);
     }
 
-    private String generateRemarks(BigDecimal dtiRatio, Integer creditScore, String decision) {
-        StringBuilder remarks = new StringBuilder();
-
-        remarks.append("DTI Ratio: ").append(dtiRatio).append("%. ");
-        remarks.append("Credit Score: ").append(creditScore).append(". ");
-
-        switch (decision) {
-            case "APPROVED":
-                remarks.append("Low risk profile. Auto-approved.");
-                break;
-            case "REJECTED":
-                if (dtiRatio.compareTo(DTI_THRESHOLD_AUTO_REJECT) > 0) {
-                    remarks.append("DTI ratio exceeds maximum threshold (40%).");
-                } else {
-                    remarks.append("Credit score below minimum requirement.");
-                }
-                break;
-            case "REVIEW":
-                remarks.append("Manual review required. Medium risk profile.");
-                break;
-        }
-
-        return remarks.toString();
+    private String generateRemarks(BigDecimal dtiRatio, int creditScore, DecisionTable.Outcome outcome) {
+        return "DTI Ratio: " + dtiRatio + "%. " +
+                "Credit Score: " + creditScore + ". " +
+                outcome.remarks();
     }
 }
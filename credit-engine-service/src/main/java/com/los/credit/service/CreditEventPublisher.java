@@ -0,0 +1,73 @@
+package com.los.credit.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.los.credit.event.CreditCheckedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes credit check results keyed by loan id. A batch is sent without waiting between
+ * records and acknowledged once, so the caller can commit its consumer offsets only after
+ * every result is durable.
+ */
+@Slf4j
+@Component
+public class CreditEventPublisher {
+
+    public static final String CREDIT_TOPIC = "credit-events";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final long sendTimeoutMs;
+
+    public CreditEventPublisher(
+            KafkaTemplate<String, String> kafkaTemplate,
+            ObjectMapper objectMapper,
+            @Value("${credit.events.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    public void publishAll(List<CreditCheckedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(events.size());
+        for (CreditCheckedEvent event : events) {
+            sends.add(kafkaTemplate.send(CREDIT_TOPIC, String.valueOf(event.getLoanId()), serialize(event)));
+        }
+        kafkaTemplate.flush();
+
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0]))
+                    .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing credit events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to publish " + events.size() + " credit events", e);
+        }
+        log.debug("Published {} credit events", events.size());
+    }
+
+    private String serialize(CreditCheckedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize credit event for loan " + event.getLoanId(), e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.los.credit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.los.credit.dto.RuleSetDefinition;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Holds the active {@link DecisionTable}. The rule file is polled for changes; a new file is
+ * parsed, validated and compiled off to the side and only then swapped in with a single
+ * volatile write, so in-flight checks finish on the table they started with.
+ * A file that fails validation, or that changes content without bumping {@code version},
+ * is rejected and the current table stays active; it is reported once and not read again
+ * until it changes.
+ * <p>
+ * The rule file lives outside the jar ({@code credit.rules.location}, a {@code file:} path) so it
+ * can be edited in place. Until one is provided there, the rules packaged with the service
+ * ({@code credit.rules.fallback-location}) are used, and the poll switches over as soon as the
+ * external file appears.
+ */
+@Slf4j
+@Component
+public class DecisionRuleEngine {
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final String location;
+    private final String fallbackLocation;
+
+    private volatile DecisionTable table;
+    private volatile String loadedLocation;
+    private volatile String loadedStamp;
+    private volatile String loadedDigest;
+    private volatile String rejectedStamp;
+    private volatile LocalDateTime loadedAt;
+
+    // Where the rules were read from and when that file was last modified
+    private record Source(String location, Resource resource, String stamp) {
+    }
+
+    public DecisionRuleEngine(
+            ResourceLoader resourceLoader,
+            ObjectMapper objectMapper,
+            @Value("${credit.rules.location:file:config/credit-decision-rules.json}") String location,
+            @Value("${credit.rules.fallback-location:classpath:rules/credit-decision-rules.json}") String fallbackLocation) {
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.location = location;
+        this.fallbackLocation = fallbackLocation;
+    }
+
+    @PostConstruct
+    public void load() {
+        reload();
+        if (!location.equals(loadedLocation)) {
+            log.warn("No rule file at {}, using the packaged rules; put one there to change rules without a redeploy",
+                    location);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${credit.rules.poll-interval-ms:10000}")
+    public void refreshIfChanged() {
+        Source source = source();
+        if (source.stamp().equals(loadedStamp) || source.stamp().equals(rejectedStamp)) {
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            rejectedStamp = source.stamp();
+            log.error("Rejected rule set from {}, keeping version {} until the file changes again: {}",
+                    source.location(), table.version(), e.getMessage());
+        }
+    }
+
+    /**
+     * Re-read the rule file and swap it in. Returns the table that is active afterwards.
+     */
+    public synchronized DecisionTable reload() {
+        Source source = source();
+        byte[] content = read(source);
+        String digest = digest(content);
+
+        DecisionTable previous = table;
+        if (previous != null && digest.equals(loadedDigest)) {
+            // Touched, or copied from the packaged rules unchanged
+            loadedLocation = source.location();
+            loadedStamp = source.stamp();
+            return previous;
+        }
+
+        DecisionTable compiled = DecisionTable.compile(parse(source, content));
+        if (previous != null && previous.version().equals(compiled.version())) {
+            throw new IllegalArgumentException("Rule file changed but version " + compiled.version()
+                    + " was not bumped");
+        }
+
+        table = compiled;
+        loadedLocation = source.location();
+        loadedStamp = source.stamp();
+        loadedDigest = digest;
+        rejectedStamp = null;
+        loadedAt = LocalDateTime.now();
+        log.info("Credit decision rules {} active from {} (previous {})",
+                compiled.version(), source.location(), previous == null ? "none" : previous.version());
+        return compiled;
+    }
+
+    public DecisionTable current() {
+        return table;
+    }
+
+    public LocalDateTime loadedAt() {
+        return loadedAt;
+    }
+
+    private Source source() {
+        Resource resource = resourceLoader.getResource(location);
+        String sourceLocation = location;
+        if (!resource.exists() && !fallbackLocation.isBlank()) {
+            resource = resourceLoader.getResource(fallbackLocation);
+            sourceLocation = fallbackLocation;
+        }
+        String lastModified;
+        try {
+            lastModified = String.valueOf(resource.lastModified());
+        } catch (IOException e) {
+            // Still compared between polls, so an unreadable file is reported once as well
+            lastModified = "unreadable";
+        }
+        return new Source(sourceLocation, resource, sourceLocation + "@" + lastModified);
+    }
+
+    private byte[] read(Source source) {
+        try (InputStream in = source.resource().getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read rule set from " + source.location(), e);
+        }
+    }
+
+    private RuleSetDefinition parse(Source source, byte[] content) {
+        try {
+            return objectMapper.readValue(content, RuleSetDefinition.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to parse rule set from " + source.location()
+                    + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
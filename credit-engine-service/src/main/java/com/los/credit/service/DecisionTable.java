@@ -0,0 +1,236 @@
+package com.los.credit.service;
+
+import com.los.credit.dto.RuleSetDefinition;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A rule set compiled into flat primitive arrays in the fixed-point units of
+ * {@link FixedPointScorer} (DTI in hundredths of a percent, money in cents).
+ * Missing conditions compile to neutral bounds, so every decision row is checked
+ * with the same branch-free conjunction. Instances are immutable and shared across threads.
+ */
+public final class DecisionTable {
+
+    private static final Set<String> DECISIONS = Set.of("APPROVED", "REJECTED", "REVIEW");
+
+    private final String version;
+    private final int baseScore;
+    private final int minScore;
+    private final int maxScore;
+
+    private final long[] dtiBandBelow;
+    private final int[] dtiBandAdjustment;
+    private final long[] incomeBandAtLeast;
+    private final int[] incomeBandAdjustment;
+    private final long[] debtBandRatioUnscaled;
+    private final long[] debtBandRatioDivisor;
+    private final int[] debtBandAdjustment;
+    private final BigDecimal[] incomeBandAtLeastExact;
+    private final BigDecimal[] debtBandRatioExact;
+
+    private final long[] ruleDtiAbove;
+    private final long[] ruleDtiBelow;
+    private final int[] ruleScoreBelow;
+    private final int[] ruleScoreAtLeast;
+    private final long[] ruleIncomeAtLeast;
+    private final Outcome[] outcomes;
+
+    /**
+     * Result of the first matching decision rule.
+     */
+    public record Outcome(String rule, String decision, String remarks) {
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public int score(long dtiBp, long incomeCents, long debtCents) {
+        int score = baseScore;
+
+        for (int i = 0; i < dtiBandBelow.length; i++) {
+            if (dtiBp < dtiBandBelow[i]) {
+                score += dtiBandAdjustment[i];
+                break;
+            }
+        }
+        for (int i = 0; i < incomeBandAtLeast.length; i++) {
+            if (incomeCents >= incomeBandAtLeast[i]) {
+                score += incomeBandAdjustment[i];
+                break;
+            }
+        }
+        for (int i = 0; i < debtBandAdjustment.length; i++) {
+            long limit = FixedPointScorer.mulDivHalfUp(incomeCents, debtBandRatioUnscaled[i], debtBandRatioDivisor[i]);
+            if (debtCents > limit) {
+                score += debtBandAdjustment[i];
+                break;
+            }
+        }
+
+        return Math.max(minScore, Math.min(maxScore, score));
+    }
+
+    /**
+     * Same scoring for amounts outside the fixed-point range, compared as BigDecimal.
+     * A fractional debt ratio limit is rounded HALF_UP to cents, an integral one is exact.
+     */
+    public int score(long dtiBp, BigDecimal income, BigDecimal debt) {
+        int score = baseScore;
+
+        for (int i = 0; i < dtiBandBelow.length; i++) {
+            if (dtiBp < dtiBandBelow[i]) {
+                score += dtiBandAdjustment[i];
+                break;
+            }
+        }
+        for (int i = 0; i < incomeBandAtLeastExact.length; i++) {
+            if (income.compareTo(incomeBandAtLeastExact[i]) >= 0) {
+                score += incomeBandAdjustment[i];
+                break;
+            }
+        }
+        for (int i = 0; i < debtBandRatioExact.length; i++) {
+            BigDecimal limit = income.multiply(debtBandRatioExact[i]);
+            if (debtBandRatioDivisor[i] != 1) {
+                limit = limit.setScale(2, RoundingMode.HALF_UP);
+            }
+            if (debt.compareTo(limit) > 0) {
+                score += debtBandAdjustment[i];
+                break;
+            }
+        }
+
+        return Math.max(minScore, Math.min(maxScore, score));
+    }
+
+    public Outcome decide(long dtiBp, int score, long incomeCents) {
+        int last = outcomes.length - 1;
+        for (int i = 0; i < last; i++) {
+            // Non-short-circuit & keeps each row a single predictable branch
+            if ((dtiBp > ruleDtiAbove[i]) & (dtiBp < ruleDtiBelow[i])
+                    & (score < ruleScoreBelow[i]) & (score >= ruleScoreAtLeast[i])
+                    & (incomeCents >= ruleIncomeAtLeast[i])) {
+                return outcomes[i];
+            }
+        }
+        return outcomes[last];
+    }
+
+    /**
+     * Validate a rule set and compile it. Throws {@link IllegalArgumentException} describing
+     * the first problem found; a table that fails here is never swapped in.
+     */
+    public static DecisionTable compile(RuleSetDefinition definition) {
+        require(definition.getVersion() != null && !definition.getVersion().isBlank(), "version is required");
+        require(definition.getBaseScore() != null, "baseScore is required");
+        require(definition.getMinScore() != null && definition.getMaxScore() != null, "minScore and maxScore are required");
+        require(definition.getMinScore() <= definition.getMaxScore(), "minScore must not exceed maxScore");
+        return new DecisionTable(definition);
+    }
+
+    private DecisionTable(RuleSetDefinition definition) {
+        this.version = definition.getVersion();
+        this.baseScore = definition.getBaseScore();
+        this.minScore = definition.getMinScore();
+        this.maxScore = definition.getMaxScore();
+
+        List<RuleSetDefinition.DtiBand> dtiBands = orEmpty(definition.getDtiBands());
+        this.dtiBandBelow = new long[dtiBands.size()];
+        this.dtiBandAdjustment = new int[dtiBands.size()];
+        for (int i = 0; i < dtiBands.size(); i++) {
+            RuleSetDefinition.DtiBand band = dtiBands.get(i);
+            dtiBandBelow[i] = band.getBelow() == null ? Long.MAX_VALUE : hundredths(band.getBelow(), "dtiBands.below");
+            dtiBandAdjustment[i] = adjustment(band.getAdjustment(), "dtiBands");
+        }
+
+        List<RuleSetDefinition.IncomeBand> incomeBands = orEmpty(definition.getIncomeBands());
+        this.incomeBandAtLeast = new long[incomeBands.size()];
+        this.incomeBandAdjustment = new int[incomeBands.size()];
+        this.incomeBandAtLeastExact = new BigDecimal[incomeBands.size()];
+        for (int i = 0; i < incomeBands.size(); i++) {
+            RuleSetDefinition.IncomeBand band = incomeBands.get(i);
+            require(band.getAtLeast() != null, "incomeBands.atLeast is required");
+            incomeBandAtLeast[i] = hundredths(band.getAtLeast(), "incomeBands.atLeast");
+            incomeBandAtLeastExact[i] = band.getAtLeast();
+            incomeBandAdjustment[i] = adjustment(band.getAdjustment(), "incomeBands");
+        }
+
+        List<RuleSetDefinition.DebtBand> debtBands = orEmpty(definition.getDebtBands());
+        this.debtBandRatioUnscaled = new long[debtBands.size()];
+        this.debtBandRatioDivisor = new long[debtBands.size()];
+        this.debtBandAdjustment = new int[debtBands.size()];
+        this.debtBandRatioExact = new BigDecimal[debtBands.size()];
+        for (int i = 0; i < debtBands.size(); i++) {
+            RuleSetDefinition.DebtBand band = debtBands.get(i);
+            BigDecimal ratio = band.getIncomeRatioAbove();
+            require(ratio != null && ratio.signum() >= 0 && ratio.compareTo(BigDecimal.valueOf(100)) <= 0,
+                    "debtBands.incomeRatioAbove must be between 0 and 100");
+            BigDecimal normalized = ratio.stripTrailingZeros();
+            if (normalized.scale() < 0) {
+                normalized = normalized.setScale(0);
+            }
+            require(normalized.scale() <= 4, "debtBands.incomeRatioAbove supports at most 4 decimals");
+            debtBandRatioUnscaled[i] = normalized.unscaledValue().longValueExact();
+            debtBandRatioDivisor[i] = BigDecimal.ONE.scaleByPowerOfTen(normalized.scale()).longValueExact();
+            debtBandRatioExact[i] = normalized;
+            debtBandAdjustment[i] = adjustment(band.getAdjustment(), "debtBands");
+        }
+
+        List<RuleSetDefinition.DecisionRule> rules = orEmpty(definition.getDecisionRules());
+        require(!rules.isEmpty(), "at least one decision rule is required");
+        int n = rules.size();
+        this.ruleDtiAbove = new long[n];
+        this.ruleDtiBelow = new long[n];
+        this.ruleScoreBelow = new int[n];
+        this.ruleScoreAtLeast = new int[n];
+        this.ruleIncomeAtLeast = new long[n];
+        this.outcomes = new Outcome[n];
+        for (int i = 0; i < n; i++) {
+            RuleSetDefinition.DecisionRule rule = rules.get(i);
+            require(rule.getName() != null, "decisionRules.name is required");
+            require(rule.getDecision() != null && DECISIONS.contains(rule.getDecision()),
+                    "decision rule " + rule.getName() + " must decide one of " + DECISIONS);
+            ruleDtiAbove[i] = rule.getDtiAbove() == null ? Long.MIN_VALUE : hundredths(rule.getDtiAbove(), rule.getName());
+            ruleDtiBelow[i] = rule.getDtiBelow() == null ? Long.MAX_VALUE : hundredths(rule.getDtiBelow(), rule.getName());
+            ruleScoreBelow[i] = rule.getScoreBelow() == null ? Integer.MAX_VALUE : rule.getScoreBelow();
+            ruleScoreAtLeast[i] = rule.getScoreAtLeast() == null ? Integer.MIN_VALUE : rule.getScoreAtLeast();
+            ruleIncomeAtLeast[i] = rule.getIncomeAtLeast() == null ? Long.MIN_VALUE : hundredths(rule.getIncomeAtLeast(), rule.getName());
+            outcomes[i] = new Outcome(rule.getName(), rule.getDecision(), rule.getRemarks() == null ? "" : rule.getRemarks());
+        }
+
+        RuleSetDefinition.DecisionRule fallback = rules.get(n - 1);
+        require(fallback.getDtiAbove() == null && fallback.getDtiBelow() == null
+                        && fallback.getScoreBelow() == null && fallback.getScoreAtLeast() == null
+                        && fallback.getIncomeAtLeast() == null,
+                "the last decision rule must be unconditional");
+    }
+
+    // Percentages and money share the same two-decimal fixed-point representation
+    private static long hundredths(BigDecimal value, String field) {
+        require(value.scale() <= 2, field + " supports at most 2 decimals");
+        require(value.precision() - value.scale() <= 15, field + " is out of range");
+        long scaled = value.movePointRight(2).longValue();
+        require(Math.abs(scaled) <= FixedPointScorer.MAX_CENTS, field + " is out of range");
+        return scaled;
+    }
+
+    private static int adjustment(Integer value, String field) {
+        require(value != null, field + ".adjustment is required");
+        return value;
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException("Invalid rule set: " + message);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.los.credit.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Allocation-free arithmetic core. Money is carried as {@code long} cents and the DTI ratio as
+ * a {@code long} in hundredths of a percent, so every threshold check in {@link DecisionTable}
+ * is a primitive compare. Rounding reproduces the BigDecimal path in {@link CreditEngineService}
+ * exactly: each HALF_UP division there becomes one {@link #mulDivHalfUp} here on the same rational.
+ * The installment itself comes from {@link AnnuityFactorTable.AnnuityFactor#installmentCents}.
+ */
+final class FixedPointScorer {
+
+    /** Amounts above 1 trillion (10^14 cents) fall back to the BigDecimal path to rule out overflow. */
+    static final long MAX_CENTS = 100_000_000_000_000L;
+    static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+    static final long MAX_DTI_BP = 1L << 62;
+
+    private FixedPointScorer() {
+    }
+
+    /**
+     * Convert an amount to cents, or {@link #NOT_REPRESENTABLE} when that would lose
+     * precision or exceed {@link #MAX_CENTS}.
+     */
+    static long toCents(BigDecimal amount) {
+        if (amount.scale() > 2 || amount.precision() - amount.scale() > 15) {
+            return NOT_REPRESENTABLE;
+        }
+        long cents = amount.movePointRight(2).longValue();
+        return Math.abs(cents) <= MAX_CENTS ? cents : NOT_REPRESENTABLE;
+    }
+
+    /**
+     * DTI in hundredths of a percent: {@code (debt + installment) / income} rounded HALF_UP
+     * to 4 decimals, then scaled by 100.
+     */
+    static long dtiBasisPoints(long existingDebtCents, long installmentCents, long incomeCents) {
+        if (incomeCents == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        return mulDivHalfUp(existingDebtCents + installmentCents, 10_000L, incomeCents);
+    }
+
+    /**
+     * Cents for the decision-rule checks on the BigDecimal path: rounded down and clamped to
+     * {@link #MAX_CENTS}. Flooring keeps {@code >=} checks against whole-cent thresholds exact.
+     */
+    static long toCentsFloorSaturated(BigDecimal amount) {
+        BigDecimal cents = amount.setScale(2, RoundingMode.FLOOR).movePointRight(2);
+        if (cents.compareTo(BigDecimal.valueOf(MAX_CENTS)) > 0) {
+            return MAX_CENTS;
+        }
+        if (cents.compareTo(BigDecimal.valueOf(-MAX_CENTS)) < 0) {
+            return -MAX_CENTS;
+        }
+        return cents.longValueExact();
+    }
+
+    /**
+     * A DTI ratio at scale 2 as hundredths of a percent, clamped well inside the long range.
+     */
+    static long dtiBasisPointsSaturated(BigDecimal dtiRatio) {
+        BigDecimal bp = dtiRatio.movePointRight(2);
+        if (bp.compareTo(BigDecimal.valueOf(MAX_DTI_BP)) > 0) {
+            return MAX_DTI_BP;
+        }
+        if (bp.compareTo(BigDecimal.valueOf(-MAX_DTI_BP)) < 0) {
+            return -MAX_DTI_BP;
+        }
+        return bp.longValueExact();
+    }
+
+    /**
+     * {@code a * m / d} rounded HALF_UP (ties away from zero, like {@link RoundingMode#HALF_UP}).
+     * Splits {@code a} by {@code d} first so {@code a * m} is never formed; callers keep
+     * {@code |d| * m} and {@code (|a| / |d|) * m} within range via {@link #MAX_CENTS}.
+     */
+    static long mulDivHalfUp(long a, long m, long d) {
+        boolean negative = (a < 0) != (d < 0);
+        long absA = Math.abs(a);
+        long absD = Math.abs(d);
+
+        long quotient = absA / absD;
+        long scaledRemainder = (absA % absD) * m;
+        long result = quotient * m + scaledRemainder / absD;
+        if ((scaledRemainder % absD) * 2 >= absD) {
+            result++;
+        }
+        return negative ? -result : result;
+    }
+}
@@ -0,0 +1,131 @@
+package com.los.credit.service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The loan book in columnar form: one primitive array per field, row {@code i} across all of them
+ * is one loan. Money is in cents and rates in basis points, as in {@link FixedPointScorer};
+ * a missing or unrepresentable amount is {@link FixedPointScorer#NOT_REPRESENTABLE}.
+ * Loans are also indexed by their distinct (rate, tenor) terms, so a simulation prices each
+ * term once per scenario instead of once per loan. Immutable once built.
+ */
+public final class LoanBookSnapshot {
+
+    private final int size;
+    private final long[] principalCents;
+    private final long[] incomeCents;
+    private final long[] debtCents;
+    private final int[] termIndex;
+    private final int[] termRateBp;
+    private final int[] termTenor;
+    private final LocalDateTime loadedAt;
+
+    private LoanBookSnapshot(Builder b) {
+        this.size = b.size;
+        this.principalCents = Arrays.copyOf(b.principalCents, b.size);
+        this.incomeCents = Arrays.copyOf(b.incomeCents, b.size);
+        this.debtCents = Arrays.copyOf(b.debtCents, b.size);
+        this.termIndex = Arrays.copyOf(b.termIndex, b.size);
+        this.termRateBp = Arrays.copyOf(b.termRateBp, b.termCount);
+        this.termTenor = Arrays.copyOf(b.termTenor, b.termCount);
+        this.loadedAt = LocalDateTime.now();
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int termCount() {
+        return termRateBp.length;
+    }
+
+    public LocalDateTime loadedAt() {
+        return loadedAt;
+    }
+
+    long principalCents(int i) {
+        return principalCents[i];
+    }
+
+    long incomeCents(int i) {
+        return incomeCents[i];
+    }
+
+    long debtCents(int i) {
+        return debtCents[i];
+    }
+
+    int termIndex(int i) {
+        return termIndex[i];
+    }
+
+    int termRateBp(int term) {
+        return termRateBp[term];
+    }
+
+    int termTenor(int term) {
+        return termTenor[term];
+    }
+
+    public static final class Builder {
+        private final Map<Long, Integer> terms = new HashMap<>();
+        private int size;
+        private int termCount;
+        private long[] principalCents;
+        private long[] incomeCents;
+        private long[] debtCents;
+        private int[] termIndex;
+        private int[] termRateBp = new int[16];
+        private int[] termTenor = new int[16];
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            principalCents = new long[capacity];
+            incomeCents = new long[capacity];
+            debtCents = new long[capacity];
+            termIndex = new int[capacity];
+        }
+
+        public Builder add(long principal, long income, long debt, int tenor, int rateBp) {
+            if (size == principalCents.length) {
+                int capacity = size + (size >> 1);
+                principalCents = Arrays.copyOf(principalCents, capacity);
+                incomeCents = Arrays.copyOf(incomeCents, capacity);
+                debtCents = Arrays.copyOf(debtCents, capacity);
+                termIndex = Arrays.copyOf(termIndex, capacity);
+            }
+            principalCents[size] = principal;
+            incomeCents[size] = income;
+            debtCents[size] = debt;
+            termIndex[size] = term(rateBp, tenor);
+            size++;
+            return this;
+        }
+
+        private int term(int rateBp, int tenor) {
+            Integer existing = terms.get(((long) rateBp << 32) | (tenor & 0xFFFFFFFFL));
+            if (existing != null) {
+                return existing;
+            }
+            if (termCount == termRateBp.length) {
+                termRateBp = Arrays.copyOf(termRateBp, termCount * 2);
+                termTenor = Arrays.copyOf(termTenor, termCount * 2);
+            }
+            termRateBp[termCount] = rateBp;
+            termTenor[termCount] = tenor;
+            terms.put(((long) rateBp << 32) | (tenor & 0xFFFFFFFFL), termCount);
+            return termCount++;
+        }
+
+        public LoanBookSnapshot build() {
+            return new LoanBookSnapshot(this);
+        }
+    }
+}
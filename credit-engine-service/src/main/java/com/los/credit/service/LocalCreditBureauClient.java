@@ -0,0 +1,63 @@
+package com.los.credit.service;
+
+import com.los.credit.dto.CreditBureauReport;
+import com.los.credit.exception.CreditBureauException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for the credit bureau.
+ * Reports are derived from the customer id, so the same customer always gets the same debt;
+ * latency and an optional failure rate are simulated like the real integration.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "credit.bureau.client", havingValue = "local", matchIfMissing = true)
+public class LocalCreditBureauClient implements CreditBureauClient {
+
+    private final long latencyMs;
+    private final double failureRate;
+
+    public LocalCreditBureauClient(
+            @Value("${credit.bureau.local-client.latency-ms:800}") long latencyMs,
+            @Value("${credit.bureau.local-client.failure-rate:0.0}") double failureRate) {
+        this.latencyMs = latencyMs;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public CreditBureauReport fetchReport(Long customerId) {
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CreditBureauException("Bureau lookup interrupted", e);
+        }
+
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new CreditBureauException("Simulated bureau outage for customer " + customerId);
+        }
+
+        SplittableRandom random = new SplittableRandom(customerId);
+        int facilities = random.nextInt(4);
+        BigDecimal monthlyDebt = BigDecimal.ZERO;
+        for (int i = 0; i < facilities; i++) {
+            // Installments between 250 thousand and 3 million, in thousands
+            monthlyDebt = monthlyDebt.add(BigDecimal.valueOf(random.nextLong(250, 3_001) * 1_000L));
+        }
+        log.debug("Simulated bureau report for customer {}: {} facilities, {} per month", customerId, facilities, monthlyDebt);
+        return CreditBureauReport.builder()
+                .customerId(customerId)
+                .monthlyDebtPayments(monthlyDebt)
+                .activeFacilities(facilities)
+                .reportedAt(LocalDateTime.now())
+                .build();
+    }
+}
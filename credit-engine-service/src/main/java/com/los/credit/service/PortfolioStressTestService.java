@@ -0,0 +1,313 @@
+package com.los.credit.service;
+
+import com.los.credit.dto.StressTestRequest;
+import com.los.credit.dto.StressTestResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Re-scores the whole loan book under rate, income and debt shocks.
+ * The book is loaded once into a {@link LoanBookSnapshot} and kept for
+ * {@code credit.stress.snapshot-max-age-minutes}; a run walks it in fixed-size chunks with a
+ * parallel stream on a dedicated pool, scoring every loan under the baseline and each scenario
+ * in one pass with the active decision table. Per-chunk counters are merged at the end, so the
+ * hot loop allocates nothing.
+ */
+@Slf4j
+@Service
+public class PortfolioStressTestService {
+
+    static final String BASELINE = "BASELINE";
+
+    private static final String[] DECISIONS = {"APPROVED", "REVIEW", "REJECTED", "UNSCORABLE"};
+    private static final int UNSCORABLE = 3;
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int SHOCK_SCALE = 10_000; // shocks are applied in basis points
+
+    // The book: loans that are, or may still become, outstanding. The principal is the financed
+    // amount, net of the down payment, as loan-service prices and disburses it
+    private static final String BOOK_SQL = "SELECT ((COALESCE(l.approved_amount, l.requested_amount) - COALESCE(l.down_payment, 0)) * 100)::bigint AS principal_cents, " +
+            "(COALESCE(l.monthly_income, c.monthly_income) * 100)::bigint AS income_cents, " +
+            "(COALESCE(l.existing_debt, 0) * 100)::bigint AS debt_cents, " +
+            "l.tenor, (l.interest_rate * 100)::int AS rate_bp " +
+            "FROM loan.loans l LEFT JOIN customer.customers c ON c.id = l.customer_id " +
+            "WHERE l.status IN ('PENDING', 'UNDER_REVIEW', 'APPROVED', 'DISBURSED')";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DecisionRuleEngine decisionRuleEngine;
+    private final AnnuityFactorTable annuityFactorTable;
+    private final ForkJoinPool simulationPool;
+    private final Duration snapshotMaxAge;
+
+    private volatile LoanBookSnapshot snapshot;
+
+    public PortfolioStressTestService(
+            DataSource dataSource,
+            TransactionTemplate transactionTemplate,
+            DecisionRuleEngine decisionRuleEngine,
+            AnnuityFactorTable annuityFactorTable,
+            @Value("${credit.stress.parallelism:0}") int parallelism,
+            @Value("${credit.stress.fetch-size:10000}") int fetchSize,
+            @Value("${credit.stress.snapshot-max-age-minutes:60}") long snapshotMaxAgeMinutes) {
+        // PostgreSQL only streams with a fetch size inside a transaction; otherwise it buffers the whole book
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager(), transactionTemplate);
+        this.transactionTemplate.setReadOnly(true);
+        this.decisionRuleEngine = decisionRuleEngine;
+        this.annuityFactorTable = annuityFactorTable;
+        this.simulationPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.snapshotMaxAge = Duration.ofMinutes(snapshotMaxAgeMinutes);
+    }
+
+    public StressTestResponse run(StressTestRequest request) {
+        List<StressTestRequest.Scenario> scenarios = request.getScenarios() == null ? List.of() : request.getScenarios();
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("At least one scenario is required");
+        }
+        return simulate(snapshot(Boolean.TRUE.equals(request.getRefreshSnapshot())), scenarios);
+    }
+
+    public synchronized LoanBookSnapshot snapshot(boolean refresh) {
+        LoanBookSnapshot current = snapshot;
+        if (refresh || current == null || current.loadedAt().plus(snapshotMaxAge).isBefore(LocalDateTime.now())) {
+            current = loadSnapshot();
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private LoanBookSnapshot loadSnapshot() {
+        long start = System.nanoTime();
+        LoanBookSnapshot loaded = transactionTemplate.execute(status -> {
+            Long count = streamingJdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan.loans", Long.class);
+            LoanBookSnapshot.Builder builder = LoanBookSnapshot.builder((int) Math.min(count == null ? 0 : count, Integer.MAX_VALUE - 8));
+            streamingJdbcTemplate.query(BOOK_SQL, rs -> {
+                long principal = rs.getLong("principal_cents");
+                boolean principalMissing = rs.wasNull();
+                long income = rs.getLong("income_cents");
+                boolean incomeMissing = rs.wasNull();
+                long debt = rs.getLong("debt_cents");
+                int rateBp = rs.getInt("rate_bp");
+                // Tenor 0 never prices, which marks a loan without a rate as unscorable
+                int tenor = rs.wasNull() ? 0 : rs.getInt("tenor");
+                builder.add(
+                        principalMissing ? FixedPointScorer.NOT_REPRESENTABLE : principal,
+                        incomeMissing ? FixedPointScorer.NOT_REPRESENTABLE : income,
+                        debt,
+                        tenor,
+                        rateBp);
+            });
+            return builder.build();
+        });
+        log.info("Loaded loan book snapshot: {} loans, {} distinct terms in {} ms",
+                loaded.size(), loaded.termCount(), (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+
+    /**
+     * Score every loan of {@code book} under the baseline and each scenario.
+     */
+    public StressTestResponse simulate(LoanBookSnapshot book, List<StressTestRequest.Scenario> scenarios) {
+        long start = System.nanoTime();
+        DecisionTable rules = decisionRuleEngine.current();
+
+        int s = scenarios.size() + 1;
+        int[] incomeShock = new int[s];
+        int[] debtShock = new int[s];
+        AnnuityFactorTable.AnnuityFactor[][] factors = new AnnuityFactorTable.AnnuityFactor[s][];
+        factors[0] = priceTerms(book, 0);
+        for (int k = 1; k < s; k++) {
+            StressTestRequest.Scenario scenario = scenarios.get(k - 1);
+            int rateShock = scenario.getRateShockBp() == null ? 0 : scenario.getRateShockBp();
+            incomeShock[k] = shockBp(scenario.getIncomeShockPercent(), "incomeShockPercent");
+            debtShock[k] = shockBp(scenario.getDebtShockPercent(), "debtShockPercent");
+            factors[k] = priceTerms(book, rateShock);
+        }
+
+        int chunks = (book.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        ChunkResult total = simulationPool.submit(() -> IntStream.range(0, chunks)
+                        .parallel()
+                        .mapToObj(chunk -> simulateChunk(book, rules, factors, incomeShock, debtShock,
+                                chunk * CHUNK_SIZE, Math.min(book.size(), (chunk + 1) * CHUNK_SIZE)))
+                        .reduce(new ChunkResult(s), ChunkResult::merge))
+                .join();
+
+        List<StressTestResponse.ScenarioResult> results = new ArrayList<>(s);
+        results.add(result(total, 0, BASELINE, 0, null, null));
+        for (int k = 1; k < s; k++) {
+            StressTestRequest.Scenario scenario = scenarios.get(k - 1);
+            results.add(result(total, k, scenario.getName() != null ? scenario.getName() : "SCENARIO_" + k,
+                    scenario.getRateShockBp() == null ? 0 : scenario.getRateShockBp(),
+                    scenario.getIncomeShockPercent(), scenario.getDebtShockPercent()));
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Stress test over {} loans x {} scenarios took {} ms", book.size(), s, elapsedMs);
+        return StressTestResponse.builder()
+                .ruleVersion(rules.version())
+                .loanCount(book.size())
+                .snapshotLoadedAt(book.loadedAt())
+                .elapsedMs(elapsedMs)
+                .scenarios(results)
+                .build();
+    }
+
+    private static ChunkResult simulateChunk(LoanBookSnapshot book, DecisionTable rules,
+                                             AnnuityFactorTable.AnnuityFactor[][] factors,
+                                             int[] incomeShock, int[] debtShock, int from, int to) {
+        int s = factors.length;
+        ChunkResult result = new ChunkResult(s);
+        for (int i = from; i < to; i++) {
+            long principal = book.principalCents(i);
+            long income = book.incomeCents(i);
+            long debt = book.debtCents(i);
+            int term = book.termIndex(i);
+
+            int baseline = UNSCORABLE;
+            for (int k = 0; k < s; k++) {
+                int decision = UNSCORABLE;
+                AnnuityFactorTable.AnnuityFactor factor = factors[k][term];
+                long shockedIncome = shock(income, incomeShock[k]);
+                long shockedDebt = shock(debt, debtShock[k]);
+                if (factor != null && principal >= 0 && principal <= FixedPointScorer.MAX_CENTS
+                        && shockedIncome > 0 && shockedIncome <= FixedPointScorer.MAX_CENTS
+                        && shockedDebt >= 0 && shockedDebt <= FixedPointScorer.MAX_CENTS) {
+                    long installment = factor.isFixedPoint()
+                            ? factor.installmentCents(principal)
+                            : factor.installment(BigDecimal.valueOf(principal, 2)).movePointRight(2).longValueExact();
+                    long dtiBp = FixedPointScorer.dtiBasisPoints(shockedDebt, installment, shockedIncome);
+                    int score = rules.score(dtiBp, shockedIncome, shockedDebt);
+                    decision = decisionIndex(rules.decide(dtiBp, score, shockedIncome).decision());
+                    result.dtiSum[k] += dtiBp;
+                    result.scored[k]++;
+                }
+                if (k == 0) {
+                    baseline = decision;
+                }
+                result.migration[k][baseline * DECISIONS.length + decision]++;
+            }
+        }
+        return result;
+    }
+
+    private AnnuityFactorTable.AnnuityFactor[] priceTerms(LoanBookSnapshot book, int rateShockBp) {
+        AnnuityFactorTable.AnnuityFactor[] priced = new AnnuityFactorTable.AnnuityFactor[book.termCount()];
+        for (int t = 0; t < priced.length; t++) {
+            try {
+                BigDecimal rate = BigDecimal.valueOf(Math.max(0, book.termRateBp(t) + rateShockBp), 2);
+                priced[t] = annuityFactorTable.factor(rate, book.termTenor(t));
+            } catch (IllegalArgumentException e) {
+                priced[t] = null; // tenor or shocked rate out of range: those loans are unscorable
+            }
+        }
+        return priced;
+    }
+
+    // NOT_REPRESENTABLE stays negative, so it is rejected by the range checks above
+    private static long shock(long cents, int shockBp) {
+        if (shockBp == 0 || cents == FixedPointScorer.NOT_REPRESENTABLE) {
+            return cents;
+        }
+        return FixedPointScorer.mulDivHalfUp(cents, SHOCK_SCALE + shockBp, SHOCK_SCALE);
+    }
+
+    private static int shockBp(BigDecimal percent, String field) {
+        if (percent == null) {
+            return 0;
+        }
+        BigDecimal bp = percent.movePointRight(2).setScale(0, RoundingMode.HALF_UP);
+        if (bp.compareTo(BigDecimal.valueOf(-SHOCK_SCALE)) < 0 || bp.compareTo(BigDecimal.valueOf(10 * SHOCK_SCALE)) > 0) {
+            throw new IllegalArgumentException(field + " must be between -100 and 1000");
+        }
+        return bp.intValue();
+    }
+
+    private static int decisionIndex(String decision) {
+        return switch (decision) {
+            case "APPROVED" -> 0;
+            case "REVIEW" -> 1;
+            case "REJECTED" -> 2;
+            default -> UNSCORABLE;
+        };
+    }
+
+    private static StressTestResponse.ScenarioResult result(ChunkResult total, int k, String name, int rateShockBp,
+                                                            BigDecimal incomeShockPercent, BigDecimal debtShockPercent) {
+        Map<String, Long> decisions = new LinkedHashMap<>();
+        Map<String, Map<String, Long>> migration = new LinkedHashMap<>();
+        for (int from = 0; from < DECISIONS.length; from++) {
+            Map<String, Long> row = new LinkedHashMap<>();
+            for (int to = 0; to < DECISIONS.length; to++) {
+                long loans = total.migration[k][from * DECISIONS.length + to];
+                decisions.merge(DECISIONS[to], loans, Long::sum);
+                if (loans > 0) {
+                    row.put(DECISIONS[to], loans);
+                }
+            }
+            if (!row.isEmpty()) {
+                migration.put(DECISIONS[from], row);
+            }
+        }
+        BigDecimal averageDti = total.scored[k] == 0 ? null
+                : BigDecimal.valueOf(total.dtiSum[k]).divide(BigDecimal.valueOf(total.scored[k] * 100), 2, RoundingMode.HALF_UP);
+        return StressTestResponse.ScenarioResult.builder()
+                .name(name)
+                .rateShockBp(rateShockBp)
+                .incomeShockPercent(incomeShockPercent)
+                .debtShockPercent(debtShockPercent)
+                .decisions(decisions)
+                .migration(migration)
+                .averageDtiRatio(averageDti)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        simulationPool.shutdown();
+    }
+
+    /**
+     * Counters for one chunk of loans; {@code migration[k]} is a flattened baseline x scenario matrix.
+     */
+    private static final class ChunkResult {
+        final long[][] migration;
+        final double[] dtiSum;
+        final long[] scored;
+
+        ChunkResult(int scenarios) {
+            migration = new long[scenarios][DECISIONS.length * DECISIONS.length];
+            dtiSum = new double[scenarios];
+            scored = new long[scenarios];
+        }
+
+        ChunkResult merge(ChunkResult other) {
+            ChunkResult merged = new ChunkResult(migration.length);
+            for (int k = 0; k < migration.length; k++) {
+                for (int c = 0; c < migration[k].length; c++) {
+                    merged.migration[k][c] = migration[k][c] + other.migration[k][c];
+                }
+                merged.dtiSum[k] = dtiSum[k] + other.dtiSum[k];
+                merged.scored[k] = scored[k] + other.scored[k];
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.los.credit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.los.credit.dto.RuleSetDefinition;
+import com.los.credit.dto.ShadowScoringSummary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Runs a candidate rule set next to the champion on live checks without touching their latency.
+ * The champion hands over the features it already computed; the candidate scores them on a
+ * small bounded pool, and when that pool is saturated the work is dropped and counted.
+ * The last {@code ring-size} comparisons are kept in a ring buffer for
+ * {@link com.los.credit.actuator.ShadowScoringEndpoint}.
+ */
+@Slf4j
+@Component
+public class ShadowScoringService {
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final String location;
+    private final ThreadPoolExecutor shadowPool;
+    private final AtomicReferenceArray<Comparison> ring;
+    private final AtomicLong ringPosition = new AtomicLong();
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Counter agreeCounter;
+    private final Counter disagreeCounter;
+    private final Counter droppedCounter;
+    private final DistributionSummary scoreDelta;
+
+    private volatile Candidate candidate;
+
+    /**
+     * What the champion computed for one check, enough for another table to score it the same way.
+     * {@code exact} is false when the amounts were outside the fixed-point range and the BigDecimal
+     * overload of {@link DecisionTable#score} applies; {@code incomeCents} is then floor-saturated.
+     */
+    public record Features(long dtiBp, long incomeCents, long debtCents,
+                           BigDecimal income, BigDecimal debt, boolean exact) {
+    }
+
+    private record Candidate(DecisionTable table, LocalDateTime registeredAt) {
+    }
+
+    private record Comparison(String candidateVersion, String championVersion,
+                              String championDecision, String shadowDecision,
+                              int championScore, int shadowScore) {
+    }
+
+    public ShadowScoringService(
+            ResourceLoader resourceLoader,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${credit.shadow.location:}") String location,
+            @Value("${credit.shadow.threads:1}") int threads,
+            @Value("${credit.shadow.queue-capacity:1024}") int queueCapacity,
+            @Value("${credit.shadow.ring-size:10000}") int ringSize) {
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.location = location;
+        this.ring = new AtomicReferenceArray<>(ringSize);
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.shadowPool = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "shadow-scorer-" + threadCounter.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.agreeCounter = resultCounter(meterRegistry, "true");
+        this.disagreeCounter = resultCounter(meterRegistry, "false");
+        this.droppedCounter = Counter.builder("los.credit.shadow.dropped")
+                .description("Shadow scorings skipped because the shadow pool was saturated")
+                .register(meterRegistry);
+        this.scoreDelta = DistributionSummary.builder("los.credit.shadow.score_delta")
+                .description("Shadow score minus champion score")
+                .register(meterRegistry);
+        Gauge.builder("los.credit.shadow.queued", shadowPool, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (location.isBlank()) {
+            return;
+        }
+        try (InputStream in = resourceLoader.getResource(location).getInputStream()) {
+            register(objectMapper.readValue(in, RuleSetDefinition.class));
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Shadow rule set at {} not registered", location, e);
+        }
+    }
+
+    /**
+     * Validate, compile and start shadowing a candidate rule set, replacing any previous one.
+     */
+    public DecisionTable register(RuleSetDefinition definition) {
+        DecisionTable table = DecisionTable.compile(definition);
+        candidate = new Candidate(table, LocalDateTime.now());
+        log.info("Shadow scoring candidate rules {}", table.version());
+        return table;
+    }
+
+    public void clear() {
+        Candidate previous = candidate;
+        candidate = null;
+        if (previous != null) {
+            log.info("Stopped shadow scoring rules {}", previous.table().version());
+        }
+    }
+
+    /**
+     * Whether a candidate is registered; callers check this before building {@link Features}, so
+     * scoring pays nothing for shadow mode while it is off.
+     */
+    public boolean isActive() {
+        return candidate != null;
+    }
+
+    /**
+     * Hand a champion result to the shadow scorer. Never blocks; a no-op when nothing is registered.
+     */
+    public void submit(Features features, DecisionTable champion, int championScore, String championDecision) {
+        Candidate current = candidate;
+        if (current == null) {
+            return;
+        }
+        submitted.incrementAndGet();
+        try {
+            shadowPool.execute(() -> compare(current.table(), features, champion.version(), championScore, championDecision));
+        } catch (RejectedExecutionException e) {
+            dropped.incrementAndGet();
+            droppedCounter.increment();
+        }
+    }
+
+    private void compare(DecisionTable shadow, Features features, String championVersion,
+                         int championScore, String championDecision) {
+        try {
+            int score = features.exact()
+                    ? shadow.score(features.dtiBp(), features.incomeCents(), features.debtCents())
+                    : shadow.score(features.dtiBp(), features.income(), features.debt());
+            String decision = shadow.decide(features.dtiBp(), score, features.incomeCents()).decision();
+
+            (decision.equals(championDecision) ? agreeCounter : disagreeCounter).increment();
+            scoreDelta.record(score - championScore);
+            int slot = (int) (ringPosition.getAndIncrement() % ring.length());
+            ring.set(slot, new Comparison(shadow.version(), championVersion, championDecision, decision,
+                    championScore, score));
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.warn("Shadow scoring with rules {} failed: {}", shadow.version(), e.getMessage());
+        }
+    }
+
+    /**
+     * Agreement and score deltas over the ring buffer, counting only results of the current candidate.
+     */
+    public ShadowScoringSummary summary() {
+        Candidate current = candidate;
+        ShadowScoringSummary.ShadowScoringSummaryBuilder summary = ShadowScoringSummary.builder()
+                .submitted(submitted.get())
+                .dropped(dropped.get())
+                .failed(failed.get());
+        if (current == null) {
+            return summary.build();
+        }
+
+        String version = current.table().version();
+        int samples = 0;
+        int agreements = 0;
+        long deltaSum = 0;
+        long absDeltaSum = 0;
+        int minDelta = Integer.MAX_VALUE;
+        int maxDelta = Integer.MIN_VALUE;
+        String championVersion = null;
+        Map<String, Map<String, Long>> decisions = new TreeMap<>();
+        for (int i = 0; i < ring.length(); i++) {
+            Comparison c = ring.get(i);
+            if (c == null || !c.candidateVersion().equals(version)) {
+                continue;
+            }
+            samples++;
+            if (c.championDecision().equals(c.shadowDecision())) {
+                agreements++;
+            }
+            int delta = c.shadowScore() - c.championScore();
+            deltaSum += delta;
+            absDeltaSum += Math.abs(delta);
+            minDelta = Math.min(minDelta, delta);
+            maxDelta = Math.max(maxDelta, delta);
+            championVersion = c.championVersion();
+            decisions.computeIfAbsent(c.championDecision(), d -> new TreeMap<>())
+                    .merge(c.shadowDecision(), 1L, Long::sum);
+        }
+
+        summary.candidateVersion(version)
+                .registeredAt(current.registeredAt())
+                .championVersion(championVersion)
+                .sampleSize(samples)
+                .decisions(decisions);
+        if (samples > 0) {
+            summary.agreementRate((double) agreements / samples)
+                    .meanScoreDelta((double) deltaSum / samples)
+                    .meanAbsoluteScoreDelta((double) absDeltaSum / samples)
+                    .minScoreDelta(minDelta)
+                    .maxScoreDelta(maxDelta);
+        }
+        return summary.build();
+    }
+
+    public DecisionTable candidate() {
+        Candidate current = candidate;
+        return current == null ? null : current.table();
+    }
+
+    public LocalDateTime registeredAt() {
+        Candidate current = candidate;
+        return current == null ? null : current.registeredAt();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shadowPool.shutdownNow();
+    }
+
+    private static Counter resultCounter(MeterRegistry registry, String agreement) {
+        return Counter.builder("los.credit.shadow.results")
+                .description("Shadow scorings by whether the decision matched the champion")
+                .tag("agreement", agreement)
+                .register(registry);
+    }
+}
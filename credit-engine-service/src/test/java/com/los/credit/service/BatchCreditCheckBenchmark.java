@@ -0,0 +1,159 @@
+package com.los.credit.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.los.credit.dto.CreditCheckRequest;
+import com.los.credit.dto.CreditCheckResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.Mockito;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Credit checks per second through the single-request path ({@code POST /credit/check}: one JSON
+ * request decoded, scored and encoded per call) and through the NDJSON batch path
+ * ({@code POST /credit/check/batch}). Both run in-process from the request body to the response
+ * bytes, so HTTP and network round trips, which the batch path saves on top of this, are excluded.
+ * Requests carry their existing debt, so the bureau is not involved.
+ * <p>
+ * Not part of the regular build; run with
+ * {@code mvn test -Dtest=BatchCreditCheckBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BatchCreditCheckBenchmark {
+
+    private static final int REQUESTS = 1_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private static CreditEngineService creditEngineService;
+    private static BatchCreditCheckService batchService;
+    private static CreditCheckWriter writer;
+    private static byte[][] singleBodies;
+    private static byte[] batchBody;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        DecisionRuleEngine rules = new DecisionRuleEngine(new DefaultResourceLoader(), objectMapper,
+                "classpath:rules/credit-decision-rules.json", "");
+        rules.load();
+        // Results are queued to a writer that has no database behind it; stub-only mocks keep no history
+        JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class, Mockito.withSettings().stubOnly());
+        writer = new CreditCheckWriter(jdbcTemplate, 100_000, 500, 50, 1);
+        creditEngineService = new CreditEngineService(
+                rules,
+                new AnnuityFactorTable(jdbcTemplate),
+                Mockito.mock(CreditBureauService.class),
+                new ShadowScoringService(new DefaultResourceLoader(), objectMapper, new SimpleMeterRegistry(),
+                        "", 1, 1024, 16),
+                new CreditCheckIdGenerator(0),
+                writer);
+        batchService = new BatchCreditCheckService(creditEngineService, Mockito.mock(CreditBureauService.class),
+                objectMapper, 0, 1024);
+
+        singleBodies = new byte[REQUESTS][];
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        for (int i = 0; i < REQUESTS; i++) {
+            singleBodies[i] = objectMapper.writeValueAsBytes(request(i));
+        }
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            ndjson.write(singleBodies[i % REQUESTS]);
+            ndjson.write('\n');
+        }
+        batchBody = ndjson.toByteArray();
+    }
+
+    @AfterAll
+    static void tearDown() throws InterruptedException {
+        batchService.shutdown();
+        writer.shutdown();
+    }
+
+    @Test
+    void singleVersusBatchThroughput() throws InterruptedException {
+        assertEquals(BATCH_SIZE, batch(0), "batch must answer every request");
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        // Both operations return the number of checks they answered
+        Throughput.resultsPerSecond(1, Throughput.WARMUP_MS, BatchCreditCheckBenchmark::single);
+        Throughput.resultsPerSecond(1, Throughput.WARMUP_MS, BatchCreditCheckBenchmark::batch);
+
+        double singlePerCore = Throughput.resultsPerSecond(1, Throughput.MEASURE_MS,
+                BatchCreditCheckBenchmark::single);
+        double singleAllCores = Throughput.resultsPerSecond(cores, Throughput.MEASURE_MS,
+                BatchCreditCheckBenchmark::single);
+        double batched = Throughput.resultsPerSecond(1, Throughput.MEASURE_MS, BatchCreditCheckBenchmark::batch);
+        System.out.printf("%-30s %,12.0f checks/s per core %,12.0f checks/s on %d cores%n",
+                "single, one check per call", singlePerCore, singleAllCores, cores);
+        System.out.printf("%-30s %,12.0f checks/s on %d cores%n",
+                "batch, " + BATCH_SIZE + " checks per call", batched, cores);
+    }
+
+    private static CreditCheckRequest request(int i) {
+        return CreditCheckRequest.builder()
+                .customerId((long) i)
+                .requestedAmount(BigDecimal.valueOf(5_000_000L + 250_000L * (i % 200)))
+                .monthlyIncome(BigDecimal.valueOf(4_000_000L + 150_000L * (i % 150)))
+                .existingDebt(BigDecimal.valueOf(100_000L * (i % 40)))
+                .tenor(12 * (1 + i % 5))
+                .interestRate(BigDecimal.valueOf(900 + 50 * (i % 12), 2))
+                .build();
+    }
+
+    private static long single(int i) {
+        try {
+            CreditCheckRequest request = objectMapper.readValue(singleBodies[i % REQUESTS], CreditCheckRequest.class);
+            CreditCheckResponse response = creditEngineService.performCreditCheck(request);
+            return objectMapper.writeValueAsBytes(response).length > 0 ? 1 : 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long batch(int i) {
+        CountingOutputStream out = new CountingOutputStream();
+        try {
+            batchService.checkBatch(new ByteArrayInputStream(batchBody), out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.lines;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
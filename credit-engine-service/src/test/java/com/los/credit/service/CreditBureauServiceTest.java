@@ -0,0 +1,117 @@
+package com.los.credit.service;
+
+import com.los.credit.dto.CreditBureauReport;
+import com.los.credit.exception.CreditBureauException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CreditBureauServiceTest {
+
+    private CreditBureauService service;
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void asyncLookupsRunConcurrentlyOffTheCallerThread() {
+        AtomicInteger calls = new AtomicInteger();
+        service = service(customerId -> {
+            calls.incrementAndGet();
+            sleep(200);
+            return report(customerId);
+        }, 10_000, 50, 100);
+
+        long start = System.nanoTime();
+        List<CompletableFuture<CreditBureauReport>> reports = new ArrayList<>();
+        for (long customerId = 1; customerId <= 50; customerId++) {
+            reports.add(service.getReportAsync(customerId));
+            reports.add(service.getReportAsync(customerId)); // joins the lookup already in flight
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 200, "callers must not block");
+
+        CompletableFuture.allOf(reports.toArray(CompletableFuture[]::new)).join();
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2_000, "lookups must overlap");
+        assertEquals(50, calls.get());
+        assertEquals(BigDecimal.valueOf(7), service.getReport(7L).getMonthlyDebtPayments());
+        assertEquals(50, calls.get());
+    }
+
+    @Test
+    void asyncLookupFailsAfterTheWaitTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        service = service(customerId -> {
+            await(release);
+            return report(customerId);
+        }, 100, 1, 10);
+
+        CompletionException e = assertThrows(CompletionException.class, () -> service.getReportAsync(1L).join());
+        assertInstanceOf(CreditBureauException.class, e.getCause());
+        release.countDown();
+    }
+
+    @Test
+    void asyncLookupFailsAtOnceWhenTheIoQueueIsFull() {
+        CountDownLatch release = new CountDownLatch(1);
+        service = service(customerId -> {
+            await(release);
+            return report(customerId);
+        }, 10_000, 1, 1);
+
+        CompletableFuture<CreditBureauReport> running = service.getReportAsync(1L);
+        CompletableFuture<CreditBureauReport> queued = service.getReportAsync(2L);
+        CompletableFuture<CreditBureauReport> rejected = service.getReportAsync(3L);
+
+        assertTrue(rejected.isCompletedExceptionally());
+        release.countDown();
+        assertEquals(BigDecimal.ONE, running.join().getMonthlyDebtPayments());
+        assertEquals(BigDecimal.valueOf(2), queued.join().getMonthlyDebtPayments());
+        // a rejected lookup is not cached, so the next one goes to the bureau
+        assertEquals(BigDecimal.valueOf(3), service.getReportAsync(3L).join().getMonthlyDebtPayments());
+    }
+
+    private static CreditBureauService service(CreditBureauClient client, long waitTimeoutMs,
+                                               int ioThreads, int ioQueueCapacity) {
+        return new CreditBureauService(client, new SimpleMeterRegistry(), 900, 1_000, waitTimeoutMs,
+                ioThreads, ioQueueCapacity);
+    }
+
+    private static CreditBureauReport report(Long customerId) {
+        return CreditBureauReport.builder()
+                .customerId(customerId)
+                .monthlyDebtPayments(BigDecimal.valueOf(customerId))
+                .build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
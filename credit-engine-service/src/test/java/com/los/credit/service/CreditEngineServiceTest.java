@@ -0,0 +1,261 @@
+package com.los.credit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.los.credit.dto.CreditCheckRequest;
+import com.los.credit.dto.CreditCheckResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The fixed-point scoring path, and its BigDecimal fallback for amounts it cannot represent, must
+ * give the same DTI, score, decision and remarks as the BigDecimal implementation they replaced,
+ * run with the default rule file (which encodes that implementation's constants).
+ */
+class CreditEngineServiceTest {
+
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+    private static final BigDecimal HIGH_INCOME = new BigDecimal("20000000");
+
+    private enum Path { EXACT, FALLBACK }
+
+    private CreditEngineService creditEngineService;
+    private ShadowScoringService shadowScoringService;
+
+    @BeforeEach
+    void setUp() {
+        DecisionRuleEngine rules = new DecisionRuleEngine(new DefaultResourceLoader(), new ObjectMapper(),
+                "classpath:rules/credit-decision-rules.json", "");
+        rules.load();
+        shadowScoringService = Mockito.mock(ShadowScoringService.class);
+        // The scoring path is read from the features handed to the shadow scorer
+        Mockito.when(shadowScoringService.isActive()).thenReturn(true);
+        creditEngineService = new CreditEngineService(
+                rules,
+                new AnnuityFactorTable(Mockito.mock(JdbcTemplate.class)),
+                Mockito.mock(CreditBureauService.class),
+                shadowScoringService,
+                new CreditCheckIdGenerator(0),
+                Mockito.mock(CreditCheckWriter.class));
+    }
+
+    static Stream<Arguments> boundaries() {
+        return Stream.of(
+                // A zero principal leaves DTI = debt / income, so it can be put exactly on a band edge
+                Arguments.of("DTI just below 10", "0", "10000000", "999999.99", Path.EXACT),
+                Arguments.of("DTI exactly 10", "0", "10000000", "1000000", Path.EXACT),
+                Arguments.of("DTI exactly 20", "0", "10000000", "2000000", Path.EXACT),
+                Arguments.of("DTI exactly 30", "0", "10000000", "3000000", Path.EXACT),
+                Arguments.of("DTI exactly 40", "0", "10000000", "4000000", Path.EXACT),
+                Arguments.of("DTI 40.01", "0", "10000000", "4001000", Path.EXACT),
+                // Ties at the fourth decimal of the ratio round up
+                Arguments.of("ratio 0.19995 rounds to DTI 20", "0", "10000000", "1999500", Path.EXACT),
+                Arguments.of("ratio 0.1999499999 stays at 19.99", "0", "10000000", "1999499.99", Path.EXACT),
+                Arguments.of("ratio 0.40005 rounds to DTI 40.01", "0", "10000000", "4000500", Path.EXACT),
+                Arguments.of("ratio 0.4000499999 stays at 40", "0", "10000000", "4000499.99", Path.EXACT),
+                Arguments.of("income exactly 20M", "10000000", "20000000", "0", Path.EXACT),
+                Arguments.of("income one cent below 20M", "10000000", "19999999.99", "0", Path.EXACT),
+                Arguments.of("income exactly 10M", "10000000", "10000000", "0", Path.EXACT),
+                Arguments.of("income one cent below 10M", "10000000", "9999999.99", "0", Path.EXACT),
+                Arguments.of("debt equal to income", "0", "10000000", "10000000", Path.EXACT),
+                Arguments.of("debt one cent above income", "0", "10000000", "10000000.01", Path.EXACT),
+                // Half of 10000000.01 is 5000000.005, which rounds up to 5000000.01
+                Arguments.of("debt equal to rounded half income", "0", "10000000.01", "5000000.01", Path.EXACT),
+                Arguments.of("debt one cent above rounded half income", "0", "10000000.01", "5000000.02", Path.EXACT),
+                Arguments.of("score clamped at 850", "1000000", "50000000", "0", Path.EXACT),
+                Arguments.of("amounts in exponent form", "5E+7", "2.5E+7", "1E+6", Path.EXACT),
+                Arguments.of("largest representable amounts", "1000000000000", "1000000000000", "0", Path.EXACT),
+                // Not representable in cents: the BigDecimal fallback must agree as well
+                Arguments.of("three-decimal income at 20M", "10000000", "20000000.000", "0", Path.FALLBACK),
+                Arguments.of("three-decimal income below 20M", "10000000", "19999999.999", "0", Path.FALLBACK),
+                Arguments.of("three-decimal debt at DTI 40", "0", "10000000", "4000000.000", Path.FALLBACK),
+                Arguments.of("three-decimal debt rounding to DTI 40.01", "0", "10000000", "4000500.001", Path.FALLBACK),
+                Arguments.of("three-decimal principal", "123456789.125", "25000000", "100000", Path.FALLBACK),
+                Arguments.of("income above 10^14 cents", "500000000", "2000000000000", "0", Path.FALLBACK),
+                Arguments.of("principal above 10^14 cents", "5000000000000", "30000000", "0", Path.FALLBACK),
+                Arguments.of("debt above 10^14 cents", "0", "30000000", "1000000000001", Path.FALLBACK));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("boundaries")
+    void matchesBigDecimalImplementationAtBoundaries(String name, String requestedAmount, String monthlyIncome,
+                                                     String existingDebt, Path path) {
+        BigDecimal requested = new BigDecimal(requestedAmount);
+        BigDecimal income = new BigDecimal(monthlyIncome);
+        BigDecimal debt = new BigDecimal(existingDebt);
+
+        assertMatches(requested, income, debt, new BigDecimal("12"), 24, path);
+    }
+
+    @ParameterizedTest(name = "seed {0}")
+    @ValueSource(longs = {1L, 2L, 3L, 42L, 20240101L})
+    void matchesBigDecimalImplementationOnRandomApplications(long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < 2_000; i++) {
+            BigDecimal income = amount(random, 1, 100_000_000_000L);
+            BigDecimal requested = amount(random, 0, 10_000_000_000L);
+            BigDecimal debt = amount(random, 0, 100_000_000_000L);
+            // From 0.06% the monthly rate is at least 0.0001; the old formula had no zero-rate case
+            BigDecimal annualRate = BigDecimal.valueOf(6 + random.nextInt(4_995), 2);
+            int tenor = 1 + random.nextInt(AnnuityFactorTable.MAX_TENOR);
+
+            assertMatches(requested, income, debt, annualRate, tenor, null);
+        }
+    }
+
+    @Test
+    void nothingIsHandedToTheShadowScorerWhileItIsOff() {
+        Mockito.when(shadowScoringService.isActive()).thenReturn(false);
+
+        creditEngineService.evaluate(request(new BigDecimal("50000000"), new BigDecimal("15000000"),
+                new BigDecimal("2000000"), new BigDecimal("12"), 24));
+
+        verify(shadowScoringService, never()).submit(any(), any(), anyInt(), anyString());
+    }
+
+    @Test
+    void zeroIncomeIsRejectedOnBothPaths() {
+        assertThrows(ArithmeticException.class, () -> legacy(
+                new BigDecimal("1000000"), BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("12"), 24));
+        assertThrows(ArithmeticException.class, () -> creditEngineService.evaluate(
+                request(new BigDecimal("1000000"), new BigDecimal("0.00"), BigDecimal.ZERO, new BigDecimal("12"), 24)));
+        assertThrows(ArithmeticException.class, () -> creditEngineService.evaluate(
+                request(new BigDecimal("1000000"), new BigDecimal("0.000"), BigDecimal.ZERO, new BigDecimal("12"), 24)));
+    }
+
+    /**
+     * Compare one check against the reference; {@code path} asserts which branch scored it, or
+     * is null to accept either.
+     */
+    private void assertMatches(BigDecimal requested, BigDecimal income, BigDecimal debt,
+                               BigDecimal annualRate, int tenor, Path path) {
+        Legacy expected = legacy(requested, income, debt, annualRate, tenor);
+
+        Mockito.clearInvocations(shadowScoringService);
+        CreditCheckResponse actual = creditEngineService.evaluate(request(requested, income, debt, annualRate, tenor));
+        ArgumentCaptor<ShadowScoringService.Features> features = ArgumentCaptor.forClass(ShadowScoringService.Features.class);
+        verify(shadowScoringService).submit(features.capture(), any(), anyInt(), anyString());
+
+        String context = "requested " + requested + ", income " + income + ", debt " + debt
+                + ", rate " + annualRate + ", tenor " + tenor;
+        if (path != null) {
+            assertEquals(path == Path.EXACT, features.getValue().exact(), "scoring path for " + context);
+        }
+        // equals, not compareTo: the DTI must come out at the same scale too
+        assertTrue(expected.dti().equals(actual.getDtiRatio()),
+                "DTI for " + context + ": expected " + expected.dti() + " but was " + actual.getDtiRatio());
+        assertEquals(expected.score(), actual.getCreditScore(), "score for " + context);
+        assertEquals(expected.decision(), actual.getDecision(), "decision for " + context);
+        assertEquals(expected.remarks(), actual.getRemarks(), "remarks for " + context);
+    }
+
+    private static CreditCheckRequest request(BigDecimal requested, BigDecimal income, BigDecimal debt,
+                                              BigDecimal annualRate, int tenor) {
+        return CreditCheckRequest.builder()
+                .customerId(1L)
+                .requestedAmount(requested)
+                .monthlyIncome(income)
+                .existingDebt(debt)
+                .interestRate(annualRate)
+                .tenor(tenor)
+                .build();
+    }
+
+    // Whole amounts, cents, and every tenth one with a third decimal so the fallback is exercised too
+    private static BigDecimal amount(Random random, long min, long max) {
+        long whole = min + (long) (random.nextDouble() * (max - min));
+        int scale = random.nextInt(10) == 0 ? 3 : random.nextInt(3);
+        long fraction = scale == 0 ? 0 : random.nextInt((int) Math.pow(10, scale));
+        return BigDecimal.valueOf(whole).add(BigDecimal.valueOf(fraction, scale));
+    }
+
+    private record Legacy(BigDecimal dti, int score, String decision, String remarks) {
+    }
+
+    /**
+     * The BigDecimal credit check as it was before the fixed-point core and the rule table, with
+     * its fixed 24 months at 1% per month generalised to the monthly rate loan-service derives
+     * (annual % / 100 / 12, each step at 4 decimals HALF_UP), which is 0.0100 for 12%.
+     */
+    private static Legacy legacy(BigDecimal requestedAmount, BigDecimal monthlyIncome, BigDecimal existingDebt,
+                                 BigDecimal annualRate, int tenor) {
+        BigDecimal monthlyRate = annualRate.divide(HUNDRED, 4, RoundingMode.HALF_UP)
+                .divide(BigDecimal.valueOf(12), 4, RoundingMode.HALF_UP);
+        BigDecimal numerator = requestedAmount.multiply(monthlyRate);
+        BigDecimal denominator = BigDecimal.ONE.subtract(
+                BigDecimal.ONE.divide(
+                        BigDecimal.ONE.add(monthlyRate).pow(tenor), 10, RoundingMode.HALF_UP
+                )
+        );
+        BigDecimal monthlyInstallment = numerator.divide(denominator, 2, RoundingMode.HALF_UP);
+
+        BigDecimal totalDebt = existingDebt.add(monthlyInstallment);
+        BigDecimal dtiRatio = totalDebt.divide(monthlyIncome, 4, RoundingMode.HALF_UP)
+                .multiply(HUNDRED)
+                .setScale(2, RoundingMode.HALF_UP);
+
+        int score = 700;
+        if (dtiRatio.compareTo(new BigDecimal("10")) < 0) {
+            score += 100;
+        } else if (dtiRatio.compareTo(new BigDecimal("20")) < 0) {
+            score += 50;
+        } else if (dtiRatio.compareTo(new BigDecimal("30")) < 0) {
+            score += 20;
+        } else if (dtiRatio.compareTo(new BigDecimal("40")) < 0) {
+            score -= 50;
+        } else {
+            score -= 200;
+        }
+        if (monthlyIncome.compareTo(HIGH_INCOME) >= 0) {
+            score += 100;
+        } else if (monthlyIncome.compareTo(new BigDecimal("10000000")) >= 0) {
+            score += 50;
+        }
+        if (existingDebt.compareTo(monthlyIncome) > 0) {
+            score -= 100;
+        } else if (existingDebt.compareTo(monthlyIncome.divide(new BigDecimal("2"), 2, RoundingMode.HALF_UP)) > 0) {
+            score -= 50;
+        }
+        score = Math.max(300, Math.min(850, score));
+
+        String decision;
+        String reason;
+        if (dtiRatio.compareTo(new BigDecimal("40.00")) > 0) {
+            decision = "REJECTED";
+            reason = "DTI ratio exceeds maximum threshold (40%).";
+        } else if (score < 500) {
+            decision = "REJECTED";
+            reason = "Credit score below minimum requirement.";
+        } else if (dtiRatio.compareTo(new BigDecimal("20")) < 0 && score >= 750
+                && monthlyIncome.compareTo(HIGH_INCOME) >= 0) {
+            decision = "APPROVED";
+            reason = "Low risk profile. Auto-approved.";
+        } else {
+            decision = "REVIEW";
+            reason = "Manual review required. Medium risk profile.";
+        }
+        String remarks = "DTI Ratio: " + dtiRatio + "%. Credit Score: " + score + ". " + reason;
+        return new Legacy(dtiRatio, score, decision, remarks);
+    }
+}
@@ -0,0 +1,113 @@
+package com.los.credit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DecisionRuleEngineTest {
+
+    private static final String PACKAGED = "classpath:rules/credit-decision-rules.json";
+
+    @TempDir
+    Path dir;
+
+    private Path ruleFile;
+    private String packagedRules;
+    private CountingResourceLoader resourceLoader;
+    private DecisionRuleEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ruleFile = dir.resolve("credit-decision-rules.json");
+        try (InputStream in = new DefaultResourceLoader().getResource(PACKAGED).getInputStream()) {
+            packagedRules = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        resourceLoader = new CountingResourceLoader();
+        engine = new DecisionRuleEngine(resourceLoader, new ObjectMapper(), "file:" + ruleFile, PACKAGED);
+    }
+
+    @Test
+    void usesPackagedRulesUntilTheExternalFileAppears() throws IOException {
+        engine.load();
+        assertEquals("2024.01.1", engine.current().version());
+
+        // An unchanged copy of the packaged rules is not a version conflict
+        write(packagedRules, 1);
+        engine.refreshIfChanged();
+        assertEquals("2024.01.1", engine.current().version());
+
+        write(packagedRules.replace("2024.01.1", "2024.02.1"), 2);
+        engine.refreshIfChanged();
+        assertEquals("2024.02.1", engine.current().version());
+    }
+
+    @Test
+    void rejectedFileIsNotReadAgainUntilItChanges() throws IOException {
+        write(packagedRules, 1);
+        engine.load();
+
+        write(packagedRules.replace("\"baseScore\": 700", "\"baseScore\": 710"), 2);
+        engine.refreshIfChanged();
+        int readsAfterRejection = resourceLoader.reads.get();
+        engine.refreshIfChanged();
+        engine.refreshIfChanged();
+        assertEquals(readsAfterRejection, resourceLoader.reads.get());
+        assertEquals("2024.01.1", engine.current().version());
+
+        write(packagedRules.replace("\"baseScore\": 700", "\"baseScore\": 710")
+                .replace("2024.01.1", "2024.01.2"), 3);
+        engine.refreshIfChanged();
+        assertEquals("2024.01.2", engine.current().version());
+    }
+
+    @Test
+    void explicitReloadStillReportsARejectedFile() throws IOException {
+        write(packagedRules, 1);
+        engine.load();
+        write("{ not json", 2);
+
+        engine.refreshIfChanged();
+        assertThrows(IllegalStateException.class, engine::reload);
+        assertEquals("2024.01.1", engine.current().version());
+    }
+
+    // Distinct modification times, as a file system with coarse timestamps would not give two writes in a row
+    private void write(String content, int minute) throws IOException {
+        Files.writeString(ruleFile, content);
+        Files.setLastModifiedTime(ruleFile, FileTime.from(Instant.parse("2024-01-01T00:00:00Z").plusSeconds(60L * minute)));
+    }
+
+    private static final class CountingResourceLoader extends DefaultResourceLoader {
+        final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public Resource getResource(String location) {
+            if (!location.startsWith("file:")) {
+                return super.getResource(location);
+            }
+            return new FileSystemResource(location.substring("file:".length())) {
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    reads.incrementAndGet();
+                    return super.getInputStream();
+                }
+            };
+        }
+    }
+}
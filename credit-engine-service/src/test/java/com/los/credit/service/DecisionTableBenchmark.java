@@ -0,0 +1,126 @@
+package com.los.credit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput of scoring and deciding one check from its features, per core and across all cores:
+ * the compiled {@link DecisionTable} on the default rule file against the hard-coded if/else chain
+ * over BigDecimal features it replaced. The DTI and installment calculation in front of either is
+ * not included.
+ * <p>
+ * Not part of the regular build; run with
+ * {@code mvn test -Dtest=DecisionTableBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DecisionTableBenchmark {
+
+    private static final int CASES = 4_096;
+
+    private static final BigDecimal HIGH_INCOME_THRESHOLD = new BigDecimal("20000000");
+    private static final String[] DECISIONS = {"APPROVED", "REJECTED", "REVIEW"};
+
+    private static DecisionTable table;
+    private static final long[] dtiBp = new long[CASES];
+    private static final long[] incomeCents = new long[CASES];
+    private static final long[] debtCents = new long[CASES];
+    private static final BigDecimal[] dtiRatio = new BigDecimal[CASES];
+    private static final BigDecimal[] income = new BigDecimal[CASES];
+    private static final BigDecimal[] debt = new BigDecimal[CASES];
+
+    @BeforeAll
+    static void setUp() {
+        DecisionRuleEngine rules = new DecisionRuleEngine(new DefaultResourceLoader(), new ObjectMapper(),
+                "classpath:rules/credit-decision-rules.json", "");
+        rules.load();
+        table = rules.current();
+
+        Random random = new Random(42);
+        for (int i = 0; i < CASES; i++) {
+            dtiBp[i] = random.nextInt(6_000);
+            incomeCents[i] = 100_000_000L + (long) (random.nextDouble() * 4_000_000_000L);
+            debtCents[i] = (long) (random.nextDouble() * incomeCents[i] * 1.2);
+            dtiRatio[i] = BigDecimal.valueOf(dtiBp[i], 2);
+            income[i] = BigDecimal.valueOf(incomeCents[i], 2);
+            debt[i] = BigDecimal.valueOf(debtCents[i], 2);
+        }
+    }
+
+    @Test
+    void decisionThroughput() throws InterruptedException {
+        for (int i = 0; i < CASES; i++) {
+            assertEquals(ifElse(i), decisionTable(i), "score or decision differs for case " + i);
+        }
+
+        Throughput.report("if/else on BigDecimal", DecisionTableBenchmark::ifElse);
+        Throughput.report("decision table on longs", DecisionTableBenchmark::decisionTable);
+    }
+
+    private static long decisionTable(int n) {
+        int i = n & (CASES - 1);
+        int score = table.score(dtiBp[i], incomeCents[i], debtCents[i]);
+        String decision = table.decide(dtiBp[i], score, incomeCents[i]).decision();
+        return encode(score, decision);
+    }
+
+    // CreditEngineService's scoring and decision before the rule table, on the same features
+    private static long ifElse(int n) {
+        int i = n & (CASES - 1);
+        BigDecimal dti = dtiRatio[i];
+        BigDecimal monthlyIncome = income[i];
+        BigDecimal existingDebt = debt[i];
+
+        int score = 700;
+        if (dti.compareTo(new BigDecimal("10")) < 0) {
+            score += 100;
+        } else if (dti.compareTo(new BigDecimal("20")) < 0) {
+            score += 50;
+        } else if (dti.compareTo(new BigDecimal("30")) < 0) {
+            score += 20;
+        } else if (dti.compareTo(new BigDecimal("40")) < 0) {
+            score -= 50;
+        } else {
+            score -= 200;
+        }
+        if (monthlyIncome.compareTo(HIGH_INCOME_THRESHOLD) >= 0) {
+            score += 100;
+        } else if (monthlyIncome.compareTo(new BigDecimal("10000000")) >= 0) {
+            score += 50;
+        }
+        if (existingDebt.compareTo(monthlyIncome) > 0) {
+            score -= 100;
+        } else if (existingDebt.compareTo(monthlyIncome.divide(new BigDecimal("2"), 2, RoundingMode.HALF_UP)) > 0) {
+            score -= 50;
+        }
+        score = Math.max(300, Math.min(850, score));
+
+        String decision;
+        if (dti.compareTo(new BigDecimal("40.00")) > 0 || score < 500) {
+            decision = "REJECTED";
+        } else if (dti.compareTo(new BigDecimal("20")) < 0 && score >= 750
+                && monthlyIncome.compareTo(HIGH_INCOME_THRESHOLD) >= 0) {
+            decision = "APPROVED";
+        } else {
+            decision = "REVIEW";
+        }
+        return encode(score, decision);
+    }
+
+    private static long encode(int score, String decision) {
+        for (int d = 0; d < DECISIONS.length; d++) {
+            if (DECISIONS[d].equals(decision)) {
+                return score * 4L + d;
+            }
+        }
+        throw new IllegalStateException("Unexpected decision " + decision);
+    }
+}
@@ -0,0 +1,93 @@
+package com.los.credit.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntToLongFunction;
+
+/**
+ * The throughput harness the benchmarks in this module share: runs an operation on a number of
+ * threads until a deadline and reports the rate. Each call gets a distinct index, so benchmarks
+ * can cycle through prepared cases.
+ */
+final class Throughput {
+
+    static final long WARMUP_MS = 2_000;
+    static final long MEASURE_MS = 3_000;
+
+    private Throughput() {
+    }
+
+    /**
+     * Warms {@code op} up on one thread, then prints its rate on one thread and on every core.
+     */
+    static void report(String name, IntToLongFunction op) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        operationsPerSecond(1, WARMUP_MS, op);
+        double perCore = operationsPerSecond(1, MEASURE_MS, op);
+        double allCores = operationsPerSecond(cores, MEASURE_MS, op);
+        System.out.printf("%-28s %,14.0f ops/s per core %,14.0f ops/s on %d cores%n", name, perCore, allCores, cores);
+    }
+
+    /**
+     * Calls of {@code op} per second. Its results are summed into a sink so the JIT cannot drop
+     * the work; the clock is read every 64 calls to keep it out of short operations.
+     */
+    static double operationsPerSecond(int threads, long durationMs, IntToLongFunction op) throws InterruptedException {
+        return run(threads, durationMs, op, false);
+    }
+
+    /**
+     * Units of work per second, for operations that each complete a varying number of units
+     * (a batch call answering many checks) and return that number. Such calls are long, so the
+     * clock is read after every one.
+     */
+    static double resultsPerSecond(int threads, long durationMs, IntToLongFunction op) throws InterruptedException {
+        return run(threads, durationMs, op, true);
+    }
+
+    private static double run(int threads, long durationMs, IntToLongFunction op, boolean countResults)
+            throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        LongAdder results = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+        int clockMask = countResults ? 0 : 63;
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 7;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long count = 0;
+                long local = 0;
+                while ((count & clockMask) != 0 || System.nanoTime() < deadline[0]) {
+                    local += op.applyAsLong((int) (count++ + offset));
+                }
+                operations.add(count);
+                results.add(local);
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        long begin = System.nanoTime();
+        deadline[0] = begin + TimeUnit.MILLISECONDS.toNanos(durationMs);
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        if (countResults) {
+            return results.sum() * 1e9 / elapsed;
+        }
+        if (results.sum() == 42) {
+            System.out.print(""); // keeps the results observable so the JIT cannot drop the work
+        }
+        return operations.sum() * 1e9 / elapsed;
+    }
+}
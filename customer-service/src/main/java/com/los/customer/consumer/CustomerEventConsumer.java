@@ -0,0 +1,46 @@
+package com.los.customer.consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.los.customer.event.CustomerEvent;
+import com.los.customer.service.CustomerCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Keeps the customer cache of every instance in step with writes made on the others. Each
+ * instance joins its own consumer group, so every instance sees every event, and starts from the
+ * latest offset: anything older is already covered by the cache TTL. Write events are published
+ * after their transaction commits, so a customer reloaded after the invalidation is the new row.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CustomerEventConsumer {
+
+    // Events of writes that change what getCustomerById / getCustomerByNik return
+    private static final Set<String> CUSTOMER_CHANGES = Set.of(
+            "CUSTOMER_UPDATED", "CUSTOMER_VERIFIED", "CUSTOMER_BLACKLISTED");
+
+    private final CustomerCache customerCache;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = "customer-events",
+            groupId = "${customer.cache.group-id-prefix:customer-service-cache}-${random.uuid}")
+    public void consumeCustomerEvent(String message) {
+        CustomerEvent event;
+        try {
+            event = objectMapper.readValue(message, CustomerEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable customer event: {}", message);
+            return;
+        }
+        if (CUSTOMER_CHANGES.contains(event.getEventType()) && event.getCustomerId() != null) {
+            customerCache.invalidateFromEvent(event.getCustomerId(), event.getNik());
+        }
+    }
+}
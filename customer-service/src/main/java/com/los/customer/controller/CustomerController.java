@@ -1,14 +1,21 @@
 package com.los.customer.controller;
 
+import com.los.customer.dto.CustomerImportJobResponse;
 import com.los.customer.dto.CustomerRequest;
 import com.los.customer.dto.CustomerResponse;
+import com.los.customer.service.CustomerImportReader;
+import com.los.customer.service.CustomerImportService;
 import com.los.customer.service.CustomerService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -17,6 +24,9 @@ import java.util.List;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerImportService customerImportService;
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
 
     @PostMapping
     public ResponseEntity<CustomerResponse> createCustomer(@Valid @RequestBody CustomerRequest request) {
@@ -24,6 +34,26 @@ public class CustomerController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Bulk import from a streamed {@code text/csv} or {@code application/x-ndjson} body.
+     * Returns 202 with the job; progress and row errors are at the Location.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<CustomerImportJobResponse> importCustomers(HttpServletRequest request) throws IOException {
+        CustomerImportReader.Format format = TEXT_CSV.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? CustomerImportReader.Format.CSV
+                : CustomerImportReader.Format.NDJSON;
+        CustomerImportJobResponse response = customerImportService.start(request.getInputStream(), format);
+        return ResponseEntity.accepted()
+                .location(URI.create("/customers/import/" + response.getJobId()))
+                .body(response);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<CustomerImportJobResponse> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(customerImportService.getJob(jobId));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CustomerResponse> getCustomerById(@PathVariable Long id) {
         CustomerResponse response = customerService.getCustomerById(id);
@@ -0,0 +1,151 @@
+package com.los.customer.controller;
+
+import com.los.customer.service.DocumentService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Writes a stored document to the response with conditional and range request support.
+ * The ETag is the content hash, which makes it strong: the bytes behind a document never change.
+ * <p>
+ * Bodies are never buffered on the heap. On Tomcat the file is handed to the connector's sendfile,
+ * so the kernel copies it straight to the socket; otherwise it is streamed with
+ * {@link FileChannel#transferTo}. Several requested ranges are coalesced into the single range
+ * spanning the satisfiable ones, which RFC 9110 allows and keeps one contiguous transfer; 416 is
+ * sent only when none of them is satisfiable.
+ */
+@Component
+public class DocumentContentWriter {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Below this, handing the file to the poller costs more than writing it (Tomcat's own default)
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    public void write(DocumentService.DocumentContent content,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long size = Files.size(content.path());
+        String etag = content.contentHash() == null ? null : "\"" + content.contentHash() + "\"";
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (etag != null) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+            if (matchesAny(request.getHeaders(HttpHeaders.IF_NONE_MATCH), etag)) {
+                response.setStatus(HttpStatus.NOT_MODIFIED.value());
+                return;
+            }
+        }
+
+        long start = 0;
+        long end = size - 1;
+        List<HttpRange> ranges = ifRangeHolds(request.getHeader(HttpHeaders.IF_RANGE), etag)
+                ? parseRanges(request.getHeader(HttpHeaders.RANGE)) : List.of();
+        if (!ranges.isEmpty()) {
+            start = Long.MAX_VALUE;
+            end = -1;
+            for (HttpRange r : ranges) {
+                long rangeStart = r.getRangeStart(size);
+                long rangeEnd = r.getRangeEnd(size);
+                // An unsatisfiable range (starting past the end, or an empty suffix) is skipped, not fatal
+                if (rangeStart < size && rangeStart <= rangeEnd) {
+                    start = Math.min(start, rangeStart);
+                    end = Math.max(end, rangeEnd);
+                }
+            }
+            if (end < 0) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        } else {
+            response.setStatus(HttpStatus.OK.value());
+        }
+
+        long length = end - start + 1;
+        response.setContentType(content.mimeType() != null
+                ? content.mimeType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(length);
+        if (content.fileName() != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.inline().filename(content.fileName(), StandardCharsets.UTF_8).build().toString());
+        }
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (length >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // The connector sends the file after the handler returns; the end offset is exclusive
+            request.setAttribute(SENDFILE_FILENAME, content.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(content.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    throw new IOException("Document content ended before byte " + (end + 1));
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    // RFC 9110 14.2: a Range header that does not parse (including a range whose last position
+    // precedes its first) is ignored and the full representation is sent
+    private static List<HttpRange> parseRanges(String range) {
+        if (range == null) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    // If-None-Match uses the weak comparison, so W/"<hash>" matches too
+    private static boolean matchesAny(Enumeration<String> headers, String etag) {
+        while (headers.hasMoreElements()) {
+            for (String tag : headers.nextElement().split(",")) {
+                String candidate = tag.trim();
+                if (candidate.equals("*") || candidate.equals(etag) || candidate.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // If-Range uses the strong comparison; a date never holds because no Last-Modified is sent
+    private static boolean ifRangeHolds(String ifRange, String etag) {
+        return ifRange == null || (etag != null && ifRange.trim().equals(etag));
+    }
+}
@@ -3,12 +3,15 @@ package com.los.customer.controller;
 import com.los.customer.dto.DocumentResponse;
 import com.los.customer.entity.Document;
 import com.los.customer.service.DocumentService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -17,6 +20,7 @@ import java.util.List;
 public class DocumentController {
 
     private final DocumentService documentService;
+    private final DocumentContentWriter documentContentWriter;
 
     @PostMapping
     public ResponseEntity<DocumentResponse> uploadDocument(
@@ -33,6 +37,15 @@ public class DocumentController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{documentId}/content")
+    public void getDocumentContent(
+            @PathVariable Long customerId,
+            @PathVariable Long documentId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        documentContentWriter.write(documentService.getDocumentContent(customerId, documentId), request, response);
+    }
+
     @PostMapping("/{documentId}/verify")
     public ResponseEntity<Void> verifyDocument(@PathVariable Long customerId, @PathVariable Long documentId) {
         documentService.verifyDocument(documentId);
@@ -0,0 +1,47 @@
+package com.los.customer.dto;
+
+import com.los.customer.service.CustomerImportReader;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerImportJobResponse {
+    private String jobId;
+    private CustomerImportReader.Format format;
+    private JobStatus status;
+    private long rowsRead;
+    private long imported;
+    private long duplicates; // already a customer, or repeated earlier in the same import
+    private long rejected;   // failed parsing or validation
+    private List<RowError> errors; // first customer.import.max-errors only
+    private boolean errorsTruncated;
+    private String failureReason;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public enum JobStatus {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowError {
+        private long row;
+        private String nik;
+        private String message;
+    }
+}
@@ -19,7 +19,10 @@ public class DocumentResponse {
     private String fileName;
     private String mimeType;
     private Long fileSize;
+    private String contentHash;
     private String ocrData;
+    private Document.OcrStatus ocrStatus;
+    private LocalDateTime ocrCompletedAt;
     private Document.DocumentStatus status;
     private LocalDateTime uploadedAt;
 }
@@ -39,9 +39,20 @@ public class Document {
 
     private Long fileSize;
 
+    @Column(length = 64)
+    private String contentHash; // SHA-256 of the file, its key in the DocumentStore
+
     @Column(columnDefinition = "TEXT")
     private String ocrData; // Extracted data from OCR
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OcrStatus ocrStatus;
+
+    private LocalDateTime ocrClaimedAt; // set while OCR_RUNNING; the claim expires after the OCR lease
+
+    private LocalDateTime ocrCompletedAt;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private DocumentStatus status;
@@ -64,4 +75,12 @@ public class Document {
         VERIFIED,
         REJECTED
     }
+
+    public enum OcrStatus {
+        NOT_REQUIRED,
+        OCR_PENDING,
+        OCR_RUNNING,
+        OCR_COMPLETED,
+        OCR_FAILED
+    }
 }
@@ -13,6 +13,7 @@ public class CustomerEvent {
     private Long customerId;
     private String nik;
     private String email;
+    private Long documentId;
     private String eventType;
     private String metadata;
 }
@@ -2,8 +2,11 @@ package com.los.customer.repository;
 
 import com.los.customer.entity.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +15,7 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByEmail(String email);
     boolean existsByNik(String nik);
     boolean existsByEmail(String email);
+
+    @Query("SELECT c.nik FROM Customer c WHERE c.nik = :nik OR c.email = :email")
+    List<String> findNiksByNikOrEmail(@Param("nik") String nik, @Param("email") String email);
 }
@@ -2,12 +2,52 @@ package com.los.customer.repository;
 
 import com.los.customer.entity.Document;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
     List<Document> findByCustomerId(Long customerId);
     List<Document> findByCustomerIdAndDocumentType(Long customerId, Document.DocumentType documentType);
+
+    @Query("SELECT d FROM Document d JOIN FETCH d.customer WHERE d.id = :id")
+    Optional<Document> findWithCustomerById(@Param("id") Long id);
+
+    /**
+     * Documents an OCR sweep may claim: pending ones, and running ones whose claim was made before
+     * {@code staleBefore} by an instance that never finished them. Rows are locked, skipping any
+     * another instance is claiming right now; call {@link #claimOcr} in the same transaction.
+     */
+    @Query(value = "SELECT id FROM customer.documents " +
+            "WHERE ocr_status = 'OCR_PENDING' OR (ocr_status = 'OCR_RUNNING' AND ocr_claimed_at < :staleBefore) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockOcrClaimableIds(@Param("limit") int limit, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("UPDATE Document d SET d.ocrStatus = 'OCR_RUNNING', d.ocrClaimedAt = :claimedAt WHERE d.id IN :ids")
+    int claimOcr(@Param("ids") List<Long> ids, @Param("claimedAt") LocalDateTime claimedAt);
+
+    /**
+     * Hand a claimed document back to the sweep, if the claim is still the caller's.
+     */
+    @Modifying
+    @Query("UPDATE Document d SET d.ocrStatus = 'OCR_PENDING', d.ocrClaimedAt = NULL " +
+            "WHERE d.id = :id AND d.ocrStatus = 'OCR_RUNNING' AND d.ocrClaimedAt = :claimedAt")
+    int releaseOcr(@Param("id") Long id, @Param("claimedAt") LocalDateTime claimedAt);
+
+    /**
+     * Store the OCR result, if the claim is still the caller's: a claim that expired and was taken
+     * over by another sweep no longer matches {@code claimedAt}.
+     */
+    @Modifying
+    @Query("UPDATE Document d SET d.ocrData = :ocrData, d.ocrStatus = :ocrStatus, d.ocrCompletedAt = :completedAt " +
+            "WHERE d.id = :id AND d.ocrStatus = 'OCR_RUNNING' AND d.ocrClaimedAt = :claimedAt")
+    int completeOcr(@Param("id") Long id, @Param("claimedAt") LocalDateTime claimedAt, @Param("ocrData") String ocrData,
+                    @Param("ocrStatus") Document.OcrStatus ocrStatus, @Param("completedAt") LocalDateTime completedAt);
 }
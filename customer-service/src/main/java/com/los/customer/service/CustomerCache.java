@@ -0,0 +1,223 @@
+package com.los.customer.service;
+
+import com.los.customer.dto.CustomerResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of {@link CustomerResponse} by customer id, with a NIK index onto the same
+ * entries. Entries live for {@code customer.cache.ttl-seconds}, up to {@code max-size} customers;
+ * cached responses are shared and must not be modified.
+ * <p>
+ * Writes invalidate the customer once their transaction commits, and peer instances invalidate it
+ * when the write's event arrives on customer-events, so the TTL only bounds how stale a peer can
+ * be while that event is in flight. A lookup that read the database before an invalidation does
+ * not store its result, so an invalidation is never undone by a slow reader.
+ * <p>
+ * As with the bureau report cache, the TTL is the same for every entry, so a FIFO of entries
+ * serves both for dropping expired customers and for evicting the oldest ones when full.
+ */
+@Component
+public class CustomerCache {
+
+    private final long ttlNanos;
+    private final int maxSize;
+
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<String, Long> idByNik = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+    private final Counter localInvalidationCounter;
+    private final Counter eventInvalidationCounter;
+
+    public CustomerCache(
+            MeterRegistry meterRegistry,
+            @Value("${customer.cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${customer.cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxSize = maxSize;
+
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+        this.evictionCounter = Counter.builder("los.customer.cache.evictions")
+                .description("Customers dropped from the cache before they expired")
+                .register(meterRegistry);
+        this.localInvalidationCounter = invalidationCounter(meterRegistry, "local");
+        this.eventInvalidationCounter = invalidationCounter(meterRegistry, "event");
+
+        Gauge.builder("los.customer.cache.size", byId, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("los.customer.cache.hit_ratio", this, c -> ratio(c.hitCounter.count(),
+                        c.hitCounter.count() + c.missCounter.count()))
+                .description("Share of customer lookups answered from the cache")
+                .register(meterRegistry);
+    }
+
+    public CustomerResponse getById(Long id, Supplier<CustomerResponse> loader) {
+        Entry entry = byId.get(id);
+        if (entry != null && !entry.isExpired(System.nanoTime())) {
+            hitCounter.increment();
+            return entry.response;
+        }
+        return load(loader);
+    }
+
+    public CustomerResponse getByNik(String nik, Supplier<CustomerResponse> loader) {
+        Long id = idByNik.get(nik);
+        Entry entry = id == null ? null : byId.get(id);
+        // The index may still point at a customer whose NIK has since changed
+        if (entry != null && nik.equals(entry.nik) && !entry.isExpired(System.nanoTime())) {
+            hitCounter.increment();
+            return entry.response;
+        }
+        return load(loader);
+    }
+
+    /**
+     * Drops the customer once the current transaction commits, or now if there is none.
+     * Until the commit other readers still see the old row, so the cached copy stays valid.
+     */
+    public void invalidateAfterCommit(Long id, String nik) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(id, nik, localInvalidationCounter);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(id, nik, localInvalidationCounter);
+            }
+        });
+    }
+
+    /**
+     * Drops a customer named in a customer-events write event. Events from this instance arrive
+     * here too and find the customer already gone.
+     */
+    public void invalidateFromEvent(Long id, String nik) {
+        invalidate(id, nik, eventInvalidationCounter);
+    }
+
+    private CustomerResponse load(Supplier<CustomerResponse> loader) {
+        missCounter.increment();
+        long generation = invalidations.get();
+        CustomerResponse response = loader.get();
+        if (response.getId() == null || invalidations.get() != generation) {
+            return response;
+        }
+
+        Entry entry = new Entry(response, System.nanoTime() + ttlNanos);
+        Entry previous = byId.put(response.getId(), entry);
+        if (previous != null && previous.nik != null && !previous.nik.equals(entry.nik)) {
+            idByNik.remove(previous.nik, response.getId());
+        }
+        if (entry.nik != null) {
+            idByNik.put(entry.nik, response.getId());
+        }
+        insertionOrder.add(entry);
+        // An invalidation that ran while this entry was being stored may have missed it
+        if (invalidations.get() != generation) {
+            remove(entry);
+        }
+        evictIfNeeded();
+        return response;
+    }
+
+    private void invalidate(Long id, String nik, Counter counter) {
+        invalidations.incrementAndGet();
+        counter.increment();
+        if (id != null) {
+            Entry entry = byId.get(id);
+            if (entry != null) {
+                remove(entry);
+            }
+        }
+        if (nik != null) {
+            Long indexed = idByNik.remove(nik);
+            if (indexed != null && !indexed.equals(id)) {
+                Entry entry = byId.get(indexed);
+                if (entry != null && nik.equals(entry.nik)) {
+                    remove(entry);
+                }
+            }
+        }
+    }
+
+    private boolean remove(Entry entry) {
+        if (!byId.remove(entry.id, entry)) {
+            return false;
+        }
+        if (entry.nik != null) {
+            idByNik.remove(entry.nik, entry.id);
+        }
+        return true;
+    }
+
+    private void evictIfNeeded() {
+        long now = System.nanoTime();
+        Entry head;
+        while ((head = insertionOrder.peek()) != null
+                && (head.isExpired(now) || byId.size() > maxSize || byId.get(head.id) != head)) {
+            if (!insertionOrder.remove(head)) {
+                continue;
+            }
+            // Only the entry this queue node was created for; a newer one for the same customer stays
+            if (remove(head) && !head.isExpired(now)) {
+                evictionCounter.increment();
+            }
+        }
+    }
+
+    private static double ratio(double part, double total) {
+        return total == 0 ? 0 : part / total;
+    }
+
+    private static Counter lookupCounter(MeterRegistry registry, String result) {
+        return Counter.builder("los.customer.cache.lookups")
+                .description("Customer lookups by id or NIK by whether the cache answered them")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter invalidationCounter(MeterRegistry registry, String source) {
+        return Counter.builder("los.customer.cache.invalidations")
+                .description("Customer cache invalidations by whether they came from a local commit or customer-events")
+                .tag("source", source)
+                .register(registry);
+    }
+
+    private static final class Entry {
+        final Long id;
+        final String nik;
+        final CustomerResponse response;
+        final long expiresAt;
+
+        Entry(CustomerResponse response, long expiresAt) {
+            this.id = response.getId();
+            this.nik = response.getNik();
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.los.customer.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.los.customer.dto.CustomerRequest;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reads customer import rows one at a time from a CSV or NDJSON stream, so an import never holds
+ * more than a row in memory. CSV follows RFC 4180 (quoted fields may contain commas, quotes and
+ * newlines) and needs a header naming every {@link CustomerRequest} field, in camelCase or
+ * snake_case, in any order. NDJSON has one {@link CustomerRequest} object per line.
+ * <p>
+ * A row that cannot be converted comes back with an error and no request. Damage that makes the
+ * rest of the stream unreadable, such as an unterminated quote, is a {@link MalformedImportException}.
+ */
+public class CustomerImportReader implements Closeable {
+
+    public static final int MAX_FIELD_LENGTH = 10_000;
+    public static final int MAX_LINE_LENGTH = 100_000;
+    public static final int MAX_FIELDS = 256;
+
+    private static final List<String> COLUMNS = List.of(
+            "nik", "fullName", "email", "phoneNumber", "dateOfBirth", "address", "monthlyIncome", "occupation");
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    public record Row(long number, CustomerRequest request, String error) {
+    }
+
+    public static class MalformedImportException extends RuntimeException {
+        public MalformedImportException(String message) {
+            super(message);
+        }
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private final StringBuilder buffer = new StringBuilder();
+    private int[] columnIndex;
+    private long rowNumber;
+
+    public CustomerImportReader(Reader reader, Format format, ObjectMapper objectMapper) throws IOException {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        skipByteOrderMark();
+        if (format == Format.CSV) {
+            readHeader();
+        }
+    }
+
+    /**
+     * The next row, or null at the end of the stream. Blank lines are skipped and not numbered.
+     */
+    public Row next() throws IOException {
+        return format == Format.CSV ? nextCsv() : nextJson();
+    }
+
+    private Row nextCsv() throws IOException {
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        long number = ++rowNumber;
+        try {
+            CustomerRequest request = CustomerRequest.builder()
+                    .nik(field(fields, 0))
+                    .fullName(field(fields, 1))
+                    .email(field(fields, 2))
+                    .phoneNumber(field(fields, 3))
+                    .dateOfBirth(parse(field(fields, 4), "dateOfBirth", LocalDate::parse))
+                    .address(field(fields, 5))
+                    .monthlyIncome(parse(field(fields, 6), "monthlyIncome", BigDecimal::new))
+                    .occupation(field(fields, 7))
+                    .build();
+            return new Row(number, request, null);
+        } catch (IllegalArgumentException e) {
+            return new Row(number, null, e.getMessage());
+        }
+    }
+
+    private Row nextJson() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        long number = ++rowNumber;
+        try {
+            return new Row(number, objectMapper.readValue(line, CustomerRequest.class), null);
+        } catch (JsonProcessingException e) {
+            return new Row(number, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new MalformedImportException("CSV header is missing");
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            positions.putIfAbsent(normalize(header.get(i)), i);
+        }
+        columnIndex = new int[COLUMNS.size()];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            Integer position = positions.get(normalize(COLUMNS.get(i)));
+            if (position == null) {
+                missing.add(COLUMNS.get(i));
+            } else {
+                columnIndex[i] = position;
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new MalformedImportException("CSV header is missing columns " + missing);
+        }
+    }
+
+    private String field(List<String> fields, int column) {
+        int position = columnIndex[column];
+        if (position >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(position).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <T> T parse(String value, String name, Function<String, T> parser) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException(name + ": invalid value '" + value + "'");
+        }
+    }
+
+    // One RFC 4180 record, or null at the end of the stream
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        buffer.setLength(0);
+        boolean quoted = false;
+        boolean fieldWasQuoted = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        for (; c != -1; c = reader.read()) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    append((char) c);
+                }
+            } else if (c == '"' && buffer.isEmpty() && !fieldWasQuoted) {
+                quoted = true;
+                fieldWasQuoted = true;
+            } else if (c == ',') {
+                if (fields.size() == MAX_FIELDS) {
+                    throw new MalformedImportException("Row " + (rowNumber + 1) + ": more than "
+                            + MAX_FIELDS + " fields");
+                }
+                fields.add(buffer.toString());
+                buffer.setLength(0);
+                fieldWasQuoted = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                fields.add(buffer.toString());
+                return fields;
+            } else {
+                append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new MalformedImportException("Row " + (rowNumber + 1) + ": unterminated quoted field");
+        }
+        fields.add(buffer.toString());
+        return fields;
+    }
+
+    private void append(char c) {
+        if (buffer.length() == MAX_FIELD_LENGTH) {
+            throw new MalformedImportException("Row " + (rowNumber + 1) + ": field longer than "
+                    + MAX_FIELD_LENGTH + " characters");
+        }
+        buffer.append(c);
+    }
+
+    private String readLine() throws IOException {
+        buffer.setLength(0);
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        for (; c != -1 && c != '\n'; c = reader.read()) {
+            if (buffer.length() == MAX_LINE_LENGTH) {
+                throw new MalformedImportException("Row " + (rowNumber + 1) + ": line longer than "
+                        + MAX_LINE_LENGTH + " characters");
+            }
+            buffer.append((char) c);
+        }
+        return buffer.toString();
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    private static String normalize(String column) {
+        return column.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
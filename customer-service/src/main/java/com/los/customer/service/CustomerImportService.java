@@ -0,0 +1,452 @@
+package com.los.customer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.los.customer.dto.CustomerImportJobResponse;
+import com.los.customer.dto.CustomerRequest;
+import com.los.customer.event.CustomerEvent;
+import com.los.customer.exception.ImportJobNotFoundException;
+import com.los.customer.exception.ImportRejectedException;
+import com.los.customer.exception.ImportTooLargeException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk customer import from a CSV or NDJSON body. The body is spooled to disk as it arrives, up to
+ * {@code customer.import.max-body-bytes}, and the request returns a job id; an import worker then
+ * reads the file row by row, validates each row with the {@link CustomerRequest} rules and writes
+ * valid rows in chunks of {@code customer.import.chunk-size}, one multi-row insert and one
+ * transaction per chunk.
+ * <p>
+ * Within a chunk, a NIK or email seen on an earlier row is a duplicate. Against the table, only
+ * keys the {@link CustomerKeyFilter} may have seen are looked up, with one query per key per
+ * chunk; earlier chunks are already committed, so this also catches repeats across chunks.
+ * Inserts use ON CONFLICT DO NOTHING RETURNING nik, so a customer created concurrently is reported
+ * as a duplicate rather than failing the chunk. The returned NIKs say which rows went in; JDBC
+ * batch counts cannot, as pgjdbc reports SUCCESS_NO_INFO for rewritten batches. Committed chunks
+ * stay when a job fails, and re-running the same file only imports the rows that are missing.
+ * <p>
+ * Imports do not publish CUSTOMER_CREATED per row; one CUSTOMER_IMPORT_COMPLETED event
+ * summarises the job. Job status is kept in memory on the instance that ran it.
+ */
+@Slf4j
+@Service
+public class CustomerImportService {
+
+    private static final String CUSTOMER_TOPIC = "customer-events";
+    private static final String INSERT_SQL = "INSERT INTO customer.customers (nik, full_name, email, phone_number, " +
+            "date_of_birth, address, monthly_income, occupation, status, is_verified, created_at, updated_at) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, 'PENDING_VERIFICATION', false, ?, ?)";
+    private static final String INSERT_RETURNING = " ON CONFLICT DO NOTHING RETURNING nik";
+    private static final int INSERT_PARAMETERS = 10;
+    // PostgreSQL binds at most 32767 parameters per statement
+    private static final int MAX_INSERT_ROWS = Short.MAX_VALUE / INSERT_PARAMETERS;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final CustomerKeyFilter customerKeyFilter;
+    private final KafkaTemplate<String, CustomerEvent> kafkaTemplate;
+    private final Path spoolDir;
+    private final long maxBodyBytes;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final int retainedJobs;
+    private final ThreadPoolExecutor importers;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Queue<Job> jobOrder = new ConcurrentLinkedQueue<>();
+
+    private final Counter importedCounter;
+    private final Counter duplicateCounter;
+    private final Counter rejectedCounter;
+    private final Timer chunkTimer;
+
+    public CustomerImportService(
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            Validator validator,
+            ObjectMapper objectMapper,
+            CustomerKeyFilter customerKeyFilter,
+            KafkaTemplate<String, CustomerEvent> kafkaTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${customer.import.spool-dir:storage/imports}") String spoolDir,
+            @Value("${customer.import.max-body-bytes:104857600}") long maxBodyBytes,
+            @Value("${customer.import.chunk-size:1000}") int chunkSize,
+            @Value("${customer.import.max-errors:1000}") int maxErrors,
+            @Value("${customer.import.retained-jobs:100}") int retainedJobs,
+            @Value("${customer.import.threads:1}") int threads,
+            @Value("${customer.import.queue-capacity:4}") int queueCapacity) throws IOException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.customerKeyFilter = customerKeyFilter;
+        this.kafkaTemplate = kafkaTemplate;
+        this.spoolDir = Files.createDirectories(Paths.get(spoolDir));
+        this.maxBodyBytes = maxBodyBytes;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.retainedJobs = retainedJobs;
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.importers = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "customer-import-" + threadCounter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.importedCounter = rowCounter(meterRegistry, "imported");
+        this.duplicateCounter = rowCounter(meterRegistry, "duplicate");
+        this.rejectedCounter = rowCounter(meterRegistry, "rejected");
+        this.chunkTimer = Timer.builder("los.customer.import.chunk")
+                .description("Time to dedupe and insert one chunk of imported customers")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Spool the body to disk and queue it for import. Rejected when the body is larger than
+     * {@code customer.import.max-body-bytes} or the import queue is full.
+     */
+    public CustomerImportJobResponse start(InputStream body, CustomerImportReader.Format format) throws IOException {
+        Path spool = Files.createTempFile(spoolDir, "import-", "." + format.name().toLowerCase());
+        long size = 0;
+        try (OutputStream out = Files.newOutputStream(spool)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                size += read;
+                if (size > maxBodyBytes) {
+                    throw new ImportTooLargeException("Import body exceeds " + maxBodyBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | ImportTooLargeException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), format);
+        register(job);
+        try {
+            importers.execute(() -> run(job, spool));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            jobOrder.remove(job);
+            Files.deleteIfExists(spool);
+            throw new ImportRejectedException("Too many customer imports in progress, retry later");
+        }
+        log.info("Customer import {} queued ({}, {} bytes)", job.id, format, size);
+        return job.toResponse();
+    }
+
+    public CustomerImportJobResponse getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new ImportJobNotFoundException("Import job not found with ID: " + jobId);
+        }
+        return job.toResponse();
+    }
+
+    private void run(Job job, Path spool) {
+        job.startedAt = LocalDateTime.now();
+        job.status = CustomerImportJobResponse.JobStatus.RUNNING;
+        try (CustomerImportReader reader = new CustomerImportReader(
+                Files.newBufferedReader(spool, StandardCharsets.UTF_8), job.format, objectMapper)) {
+            List<CustomerImportReader.Row> chunk = new ArrayList<>(chunkSize);
+            CustomerImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                job.rowsRead.incrementAndGet();
+                String error = row.error() != null ? row.error() : validate(row.request());
+                if (error != null) {
+                    job.rejected.incrementAndGet();
+                    job.addError(row, error, maxErrors);
+                    rejectedCounter.increment();
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(job, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, chunk);
+            }
+            job.finish(CustomerImportJobResponse.JobStatus.COMPLETED, null);
+            log.info("Customer import {} completed: {} rows, {} imported, {} duplicates, {} rejected",
+                    job.id, job.rowsRead.get(), job.imported.get(), job.duplicates.get(), job.rejected.get());
+            publishCompleted(job);
+        } catch (CustomerImportReader.MalformedImportException e) {
+            job.finish(CustomerImportJobResponse.JobStatus.FAILED, e.getMessage());
+            log.warn("Customer import {} stopped on malformed input: {}", job.id, e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            job.finish(CustomerImportJobResponse.JobStatus.FAILED, "Import failed: " + e.getMessage());
+            log.error("Customer import {} failed after {} rows", job.id, job.rowsRead.get(), e);
+        } finally {
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException e) {
+                log.warn("Could not remove import spool file {}", spool);
+            }
+        }
+    }
+
+    private void importChunk(Job job, List<CustomerImportReader.Row> rows) {
+        long start = System.nanoTime();
+
+        // Repeats within the chunk
+        Map<String, Long> nikRows = new HashMap<>();
+        Map<String, Long> emailRows = new HashMap<>();
+        List<CustomerImportReader.Row> unique = new ArrayList<>(rows.size());
+        for (CustomerImportReader.Row row : rows) {
+            CustomerRequest request = row.request();
+            Long nikRow = nikRows.putIfAbsent(request.getNik(), row.number());
+            if (nikRow != null) {
+                duplicate(job, row, "NIK repeats row " + nikRow);
+                continue;
+            }
+            Long emailRow = emailRows.putIfAbsent(request.getEmail(), row.number());
+            if (emailRow != null) {
+                nikRows.remove(request.getNik());
+                duplicate(job, row, "Email repeats row " + emailRow);
+                continue;
+            }
+            unique.add(row);
+        }
+
+        // Existing customers, asking only about keys the filters may have seen
+        Set<String> existingNiks = existing("nik", unique, CustomerRequest::getNik, customerKeyFilter::mightContainNik);
+        Set<String> existingEmails = existing("email", unique, CustomerRequest::getEmail, customerKeyFilter::mightContainEmail);
+        List<CustomerImportReader.Row> inserts = new ArrayList<>(unique.size());
+        for (CustomerImportReader.Row row : unique) {
+            CustomerRequest request = row.request();
+            if (existingNiks.contains(request.getNik())) {
+                duplicate(job, row, "Customer with NIK " + request.getNik() + " already exists");
+            } else if (existingEmails.contains(request.getEmail())) {
+                duplicate(job, row, "Customer with email " + request.getEmail() + " already exists");
+            } else {
+                inserts.add(row);
+            }
+        }
+
+        if (!inserts.isEmpty()) {
+            Set<String> inserted = transactionTemplate.execute(status -> insert(inserts));
+            for (int i = 0; i < inserts.size(); i++) {
+                CustomerRequest request = inserts.get(i).request();
+                if (inserted == null || !inserted.contains(request.getNik())) {
+                    duplicate(job, inserts.get(i), "Customer with NIK " + request.getNik()
+                            + " or email " + request.getEmail() + " already exists");
+                } else {
+                    customerKeyFilter.add(request.getNik(), request.getEmail());
+                    job.imported.incrementAndGet();
+                    importedCounter.increment();
+                }
+            }
+        }
+        chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    // The NIKs of the rows actually inserted; NIKs are unique within a chunk
+    private Set<String> insert(List<CustomerImportReader.Row> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Set<String> inserted = new HashSet<>(rows.size() * 2);
+        for (int from = 0; from < rows.size(); from += MAX_INSERT_ROWS) {
+            List<CustomerImportReader.Row> batch = rows.subList(from, Math.min(rows.size(), from + MAX_INSERT_ROWS));
+            String sql = INSERT_SQL + String.join(", ", Collections.nCopies(batch.size(), INSERT_ROW)) + INSERT_RETURNING;
+            jdbcTemplate.query(sql, ps -> {
+                int p = 0;
+                for (CustomerImportReader.Row row : batch) {
+                    CustomerRequest request = row.request();
+                    ps.setString(++p, request.getNik());
+                    ps.setString(++p, request.getFullName());
+                    ps.setString(++p, request.getEmail());
+                    ps.setString(++p, request.getPhoneNumber());
+                    ps.setObject(++p, request.getDateOfBirth());
+                    ps.setString(++p, request.getAddress());
+                    ps.setBigDecimal(++p, request.getMonthlyIncome());
+                    ps.setString(++p, request.getOccupation());
+                    ps.setTimestamp(++p, now);
+                    ps.setTimestamp(++p, now);
+                }
+            }, (RowCallbackHandler) rs -> inserted.add(rs.getString(1)));
+        }
+        return inserted;
+    }
+
+    private Set<String> existing(String column, List<CustomerImportReader.Row> rows,
+                                 Function<CustomerRequest, String> key, Predicate<String> mightExist) {
+        List<String> candidates = rows.stream()
+                .map(row -> key.apply(row.request()))
+                .filter(mightExist)
+                .toList();
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT " + column + " FROM customer.customers WHERE " + column + " IN (:keys)",
+                Map.of("keys", candidates), String.class));
+    }
+
+    private String validate(CustomerRequest request) {
+        Set<ConstraintViolation<CustomerRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+
+    private void duplicate(Job job, CustomerImportReader.Row row, String message) {
+        job.duplicates.incrementAndGet();
+        job.addError(row, message, maxErrors);
+        duplicateCounter.increment();
+    }
+
+    private void register(Job job) {
+        jobs.put(job.id, job);
+        jobOrder.add(job);
+        Job oldest;
+        while (jobOrder.size() > retainedJobs && (oldest = jobOrder.peek()) != null && oldest.isFinished()) {
+            if (jobOrder.remove(oldest)) {
+                jobs.remove(oldest.id);
+            }
+        }
+    }
+
+    private void publishCompleted(Job job) {
+        CustomerEvent event = CustomerEvent.builder()
+                .eventType("CUSTOMER_IMPORT_COMPLETED")
+                .metadata("Job " + job.id + ": " + job.imported.get() + " imported, "
+                        + job.duplicates.get() + " duplicates, " + job.rejected.get() + " rejected")
+                .build();
+        kafkaTemplate.send(CUSTOMER_TOPIC, event);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Committed chunks stay; re-running an interrupted file imports only what is missing
+        importers.shutdownNow();
+    }
+
+    private static Counter rowCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("los.customer.import.rows")
+                .description("Imported customer rows by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static final class Job {
+        final String id;
+        final CustomerImportReader.Format format;
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        final AtomicLong rowsRead = new AtomicLong();
+        final AtomicLong imported = new AtomicLong();
+        final AtomicLong duplicates = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final List<CustomerImportJobResponse.RowError> errors = new ArrayList<>();
+        volatile boolean errorsTruncated;
+        volatile CustomerImportJobResponse.JobStatus status = CustomerImportJobResponse.JobStatus.QUEUED;
+        volatile String failureReason;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+
+        Job(String id, CustomerImportReader.Format format) {
+            this.id = id;
+            this.format = format;
+        }
+
+        synchronized void addError(CustomerImportReader.Row row, String message, int limit) {
+            if (errors.size() >= limit) {
+                errorsTruncated = true;
+                return;
+            }
+            errors.add(CustomerImportJobResponse.RowError.builder()
+                    .row(row.number())
+                    .nik(row.request() != null ? row.request().getNik() : null)
+                    .message(message)
+                    .build());
+        }
+
+        void finish(CustomerImportJobResponse.JobStatus finalStatus, String reason) {
+            failureReason = reason;
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        boolean isFinished() {
+            return finishedAt != null;
+        }
+
+        synchronized CustomerImportJobResponse toResponse() {
+            return CustomerImportJobResponse.builder()
+                    .jobId(id)
+                    .format(format)
+                    .status(status)
+                    .rowsRead(rowsRead.get())
+                    .imported(imported.get())
+                    .duplicates(duplicates.get())
+                    .rejected(rejected.get())
+                    .errors(List.copyOf(errors))
+                    .errorsTruncated(errorsTruncated)
+                    .failureReason(failureReason)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.los.customer.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filters over every customer NIK and email, so that creating a customer whose keys are
+ * certainly new needs no uniqueness query. The unique constraints stay the real guard: a key
+ * inserted by another instance, or missed while a rebuild was running, only means the insert
+ * fails on the constraint instead of on a pre-check.
+ * <p>
+ * The filters are built from customer.customers once the application is ready and rebuilt
+ * periodically, sized for twice the current row count so they stay accurate as the table grows.
+ * Until the first build completes every key is a probable hit.
+ */
+@Slf4j
+@Component
+public class CustomerKeyFilter {
+
+    private static final String KEYS_SQL = "SELECT nik, email FROM customer.customers";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long minExpectedInsertions;
+    private final double falsePositiveRate;
+
+    private final AtomicLong inserted = new AtomicLong();
+
+    private volatile Filters filters;
+    private volatile Filters building;
+
+    private record Filters(BloomFilter nik, BloomFilter email) {
+
+        static Filters create(long capacity, double falsePositiveRate) {
+            return new Filters(BloomFilter.create(capacity, falsePositiveRate),
+                    BloomFilter.create(capacity, falsePositiveRate));
+        }
+
+        void put(String nik, String email) {
+            nik().put(nik);
+            email().put(email);
+        }
+    }
+
+    public CustomerKeyFilter(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${customer.bloom.expected-insertions:1000000}") long minExpectedInsertions,
+            @Value("${customer.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${customer.bloom.fetch-size:10000}") int fetchSize) {
+        // PostgreSQL only streams with a fetch size inside a transaction; otherwise it buffers the whole table
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager(), transactionTemplate);
+        this.transactionTemplate.setReadOnly(true);
+        this.minExpectedInsertions = minExpectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+
+        Gauge.builder("los.customer.bloom.keys", inserted, AtomicLong::get)
+                .description("Customers whose NIK and email are in the Bloom filters")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${customer.bloom.rebuild-interval-ms:3600000}",
+            initialDelayString = "${customer.bloom.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        try {
+            Long rows = streamingJdbcTemplate.queryForObject("SELECT COUNT(*) FROM customer.customers", Long.class);
+            Filters next = Filters.create(Math.max(minExpectedInsertions, 2 * (rows == null ? 0 : rows)),
+                    falsePositiveRate);
+            // Keys added while the table is read go into the new filters as well
+            building = next;
+            AtomicLong loaded = new AtomicLong();
+            transactionTemplate.executeWithoutResult(status -> streamingJdbcTemplate.query(KEYS_SQL, rs -> {
+                next.put(rs.getString(1), rs.getString(2));
+                loaded.incrementAndGet();
+            }));
+            filters = next;
+            inserted.set(loaded.get());
+            log.info("Customer key filters built from {} customers in {} ms ({} bits, {} hashes per key)",
+                    loaded.get(), (System.nanoTime() - start) / 1_000_000, next.nik().bitCount(), next.nik().hashCount());
+        } catch (DataAccessException e) {
+            log.warn("Could not build customer key filters, uniqueness is checked in the database: {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    public boolean mightContainNik(String nik) {
+        Filters current = filters;
+        return current == null || current.nik().mightContain(nik);
+    }
+
+    public boolean mightContainEmail(String email) {
+        Filters current = filters;
+        return current == null || current.email().mightContain(email);
+    }
+
+    public void add(String nik, String email) {
+        Filters current = filters;
+        if (current != null) {
+            current.put(nik, email);
+            inserted.incrementAndGet();
+        }
+        Filters next = building;
+        if (next != null) {
+            next.put(nik, email);
+        }
+    }
+}
@@ -10,9 +10,13 @@ import com.los.customer.mapper.CustomerMapper;
 import com.los.customer.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -26,6 +30,8 @@ public class CustomerService {
     private final CustomerMapper customerMapper;
     private final KafkaTemplate<String, CustomerEvent> kafkaTemplate;
     private final OcrService ocrService;
+    private final CustomerKeyFilter customerKeyFilter;
+    private final CustomerCache customerCache;
 
     private static final String CUSTOMER_TOPIC = "customer-events";
 
@@ -33,19 +39,23 @@ public class CustomerService {
     public CustomerResponse createCustomer(CustomerRequest request) {
         log.info("Creating customer with NIK: {}", request.getNik());
 
-        // Validate NIK uniqueness
-        if (customerRepository.existsByNik(request.getNik())) {
-            throw new CustomerAlreadyExistsException("Customer with NIK " + request.getNik() + " already exists");
-        }
-
-        // Validate email uniqueness
-        if (customerRepository.existsByEmail(request.getEmail())) {
-            throw new CustomerAlreadyExistsException("Customer with email " + request.getEmail() + " already exists");
+        // Keys the filters have certainly not seen go straight to the insert;
+        // the unique constraints catch anything the filters missed
+        if (customerKeyFilter.mightContainNik(request.getNik())
+                || customerKeyFilter.mightContainEmail(request.getEmail())) {
+            List<String> conflicts = customerRepository.findNiksByNikOrEmail(request.getNik(), request.getEmail());
+            if (conflicts.contains(request.getNik())) {
+                throw new CustomerAlreadyExistsException("Customer with NIK " + request.getNik() + " already exists");
+            }
+            if (!conflicts.isEmpty()) {
+                throw new CustomerAlreadyExistsException("Customer with email " + request.getEmail() + " already exists");
+            }
         }
 
         // Create customer entity
         Customer customer = customerMapper.toEntity(request);
-        Customer savedCustomer = customerRepository.save(customer);
+        Customer savedCustomer = saveUnique(customer);
+        customerKeyFilter.add(savedCustomer.getNik(), savedCustomer.getEmail());
 
         // Publish event
         publishEvent(savedCustomer, "CUSTOMER_CREATED");
@@ -54,20 +64,23 @@ public class CustomerService {
         return customerMapper.toResponse(savedCustomer);
     }
 
-    @Transactional(readOnly = true)
+    // Not @Transactional: a cache hit needs no connection, and a miss is a single repository call
     public CustomerResponse getCustomerById(Long id) {
-        log.info("Fetching customer by ID: {}", id);
-        Customer customer = customerRepository.findById(id)
-                .orElseThrow(() -> new CustomerNotFoundException("Customer not found with ID: " + id));
-        return customerMapper.toResponse(customer);
+        return customerCache.getById(id, () -> {
+            log.debug("Fetching customer by ID: {}", id);
+            Customer customer = customerRepository.findById(id)
+                    .orElseThrow(() -> new CustomerNotFoundException("Customer not found with ID: " + id));
+            return customerMapper.toResponse(customer);
+        });
     }
 
-    @Transactional(readOnly = true)
     public CustomerResponse getCustomerByNik(String nik) {
-        log.info("Fetching customer by NIK: {}", nik);
-        Customer customer = customerRepository.findByNik(nik)
-                .orElseThrow(() -> new CustomerNotFoundException("Customer not found with NIK: " + nik));
-        return customerMapper.toResponse(customer);
+        return customerCache.getByNik(nik, () -> {
+            log.debug("Fetching customer by NIK: {}", nik);
+            Customer customer = customerRepository.findByNik(nik)
+                    .orElseThrow(() -> new CustomerNotFoundException("Customer not found with NIK: " + nik));
+            return customerMapper.toResponse(customer);
+        });
     }
 
     @Transactional(readOnly = true)
@@ -84,10 +97,13 @@ public class CustomerService {
 
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new CustomerNotFoundException("Customer not found with ID: " + id));
+        // The NIK may change, so the old one is dropped from the cache as well
+        customerCache.invalidateAfterCommit(id, customer.getNik());
 
         // Update customer data
         customerMapper.updateEntityFromRequest(request, customer);
-        Customer updatedCustomer = customerRepository.save(customer);
+        Customer updatedCustomer = saveUnique(customer);
+        customerKeyFilter.add(updatedCustomer.getNik(), updatedCustomer.getEmail());
 
         // Publish event
         publishEvent(updatedCustomer, "CUSTOMER_UPDATED");
@@ -106,6 +122,7 @@ public class CustomerService {
         customer.setIsVerified(true);
         customer.setStatus(Customer.CustomerStatus.ACTIVE);
         customerRepository.save(customer);
+        customerCache.invalidateAfterCommit(id, customer.getNik());
 
         // Publish event
         publishEvent(customer, "CUSTOMER_VERIFIED");
@@ -122,6 +139,7 @@ public class CustomerService {
 
         customer.setStatus(Customer.CustomerStatus.BLACKLISTED);
         customerRepository.save(customer);
+        customerCache.invalidateAfterCommit(id, customer.getNik());
 
         // Publish event
         CustomerEvent event = CustomerEvent.builder()
@@ -132,11 +150,27 @@ public class CustomerService {
                 .metadata("Reason: " + reason)
                 .build();
 
-        kafkaTemplate.send(CUSTOMER_TOPIC, event);
+        publishAfterCommit(event);
 
         log.info("Customer blacklisted successfully with ID: {}", id);
     }
 
+    private Customer saveUnique(Customer customer) {
+        try {
+            return customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException e) {
+            String constraint = e.getCause() instanceof ConstraintViolationException violation
+                    ? violation.getConstraintName() : null;
+            if (constraint != null && constraint.contains("nik")) {
+                throw new CustomerAlreadyExistsException("Customer with NIK " + customer.getNik() + " already exists");
+            }
+            if (constraint != null && constraint.contains("email")) {
+                throw new CustomerAlreadyExistsException("Customer with email " + customer.getEmail() + " already exists");
+            }
+            throw e;
+        }
+    }
+
     private void publishEvent(Customer customer, String eventType) {
         CustomerEvent event = CustomerEvent.builder()
                 .customerId(customer.getId())
@@ -145,7 +179,26 @@ public class CustomerService {
                 .eventType(eventType)
                 .build();
 
+        publishAfterCommit(event);
+    }
+
+    // Sent once the write commits: another instance reloading on the event must see the new row,
+    // and a rolled-back write must not be announced
+    private void publishAfterCommit(CustomerEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(event);
+            }
+        });
+    }
+
+    private void send(CustomerEvent event) {
         kafkaTemplate.send(CUSTOMER_TOPIC, event);
-        log.info("Published event: {} for customer ID: {}", eventType, customer.getId());
+        log.info("Published event: {} for customer ID: {}", event.getEventType(), event.getCustomerId());
     }
 }
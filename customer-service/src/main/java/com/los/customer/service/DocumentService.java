@@ -4,6 +4,7 @@ import com.los.customer.dto.DocumentResponse;
 import com.los.customer.entity.Customer;
 import com.los.customer.entity.Document;
 import com.los.customer.exception.CustomerNotFoundException;
+import com.los.customer.exception.DocumentNotFoundException;
 import com.los.customer.mapper.DocumentMapper;
 import com.los.customer.repository.CustomerRepository;
 import com.los.customer.repository.DocumentRepository;
@@ -17,8 +18,8 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,11 +30,22 @@ public class DocumentService {
     private final DocumentRepository documentRepository;
     private final CustomerRepository customerRepository;
     private final DocumentMapper documentMapper;
-    private final OcrService ocrService;
-
-    private static final String UPLOAD_DIR = "uploads/documents/";
+    private final DocumentStore documentStore;
+    private final OcrJobQueue ocrJobQueue;
+
+    /**
+     * Where a document's bytes are and what to describe them with; {@code contentHash} is null
+     * for documents uploaded before the content-addressed store.
+     */
+    public record DocumentContent(Path path, String contentHash, String mimeType, String fileName) {
+    }
 
-    @Transactional
+    /**
+     * Store the file and its metadata and return straight away. KTP documents are saved already
+     * claimed for OCR (OCR_RUNNING) and handed to {@link OcrJobQueue}, or OCR_PENDING for its sweep
+     * when the queue is full; the extracted data is written later.
+     * Not transactional, so no connection is held while the file is moved into the store.
+     */
     public DocumentResponse uploadDocument(Long customerId, Document.DocumentType documentType, MultipartFile file) {
         log.info("Uploading document for customer ID: {}, type: {}", customerId, documentType);
 
@@ -42,42 +54,34 @@ public class DocumentService {
                 .orElseThrow(() -> new CustomerNotFoundException("Customer not found with ID: " + customerId));
 
         try {
-            // Create upload directory if not exists
-            Path uploadPath = Paths.get(UPLOAD_DIR);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
+            // Save file; identical content is stored once
+            DocumentStore.StoredContent content = documentStore.store(file);
 
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = originalFilename != null ? 
-                    originalFilename.substring(originalFilename.lastIndexOf(".")) : "";
-            String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
-            Path filePath = uploadPath.resolve(uniqueFilename);
-
-            // Save file
-            Files.copy(file.getInputStream(), filePath);
-
-            // Perform OCR if document is KTP
-            String ocrData = null;
-            if (documentType == Document.DocumentType.KTP) {
-                ocrData = ocrService.extractKtpData(filePath.toString());
-            }
+            // Only KTP documents go through OCR
+            boolean needsOcr = documentType == Document.DocumentType.KTP;
+            LocalDateTime ocrClaimedAt = needsOcr ? ocrJobQueue.claimForUpload() : null;
 
             // Save document metadata
             Document document = Document.builder()
                     .customer(customer)
                     .documentType(documentType)
-                    .fileName(originalFilename)
-                    .filePath(filePath.toString())
+                    .fileName(file.getOriginalFilename())
+                    .filePath(content.path().toString())
                     .mimeType(file.getContentType())
-                    .fileSize(file.getSize())
-                    .ocrData(ocrData)
+                    .fileSize(content.size())
+                    .contentHash(content.hash())
+                    .ocrStatus(!needsOcr ? Document.OcrStatus.NOT_REQUIRED
+                            : ocrClaimedAt != null ? Document.OcrStatus.OCR_RUNNING : Document.OcrStatus.OCR_PENDING)
+                    .ocrClaimedAt(ocrClaimedAt)
                     .status(Document.DocumentStatus.UPLOADED)
                     .build();
 
             Document savedDocument = documentRepository.save(document);
 
+            if (ocrClaimedAt != null) {
+                ocrJobQueue.submit(savedDocument.getId(), ocrClaimedAt);
+            }
+
             log.info("Document uploaded successfully with ID: {}", savedDocument.getId());
             return documentMapper.toResponse(savedDocument);
 
@@ -101,6 +105,20 @@ public class DocumentService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public DocumentContent getDocumentContent(Long customerId, Long documentId) {
+        Document document = documentRepository.findById(documentId)
+                .filter(d -> d.getCustomer().getId().equals(customerId))
+                .orElseThrow(() -> new DocumentNotFoundException("Document not found with ID: " + documentId));
+
+        Path path = Paths.get(document.getFilePath());
+        if (!Files.isReadable(path)) {
+            log.error("Content of document {} missing at {}", documentId, path);
+            throw new DocumentNotFoundException("Content of document " + documentId + " is not available");
+        }
+        return new DocumentContent(path, document.getContentHash(), document.getMimeType(), document.getFileName());
+    }
+
     @Transactional
     public void verifyDocument(Long documentId) {
         log.info("Verifying document with ID: {}", documentId);
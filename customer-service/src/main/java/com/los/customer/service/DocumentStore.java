@@ -0,0 +1,120 @@
+package com.los.customer.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content-addressed storage for uploaded documents. A file is stored once under the SHA-256 of
+ * its bytes, at {@code <base>/sha256/ab/cd/<hash>}, so re-uploads of the same scan share it.
+ * <p>
+ * The multipart is first moved into {@code <base>/staging}. The servlet container has already
+ * spooled it to disk, and moving the part renames that spool file instead of copying it when both
+ * are on the same filesystem. The staged file is then hashed in one sequential read and renamed
+ * into place, or dropped when the content is already stored.
+ */
+@Slf4j
+@Component
+public class DocumentStore {
+
+    private static final int HASH_BUFFER_SIZE = 256 * 1024;
+
+    private final Path contentDir;
+    private final Path stagingDir;
+
+    private final Counter storedCounter;
+    private final Counter deduplicatedCounter;
+
+    public record StoredContent(String hash, Path path, long size) {
+    }
+
+    public DocumentStore(
+            MeterRegistry meterRegistry,
+            @Value("${customer.documents.base-dir:storage/documents}") String baseDir) throws IOException {
+        Path base = Paths.get(baseDir).toAbsolutePath();
+        this.contentDir = base.resolve("sha256");
+        this.stagingDir = base.resolve("staging");
+        Files.createDirectories(contentDir);
+        Files.createDirectories(stagingDir);
+
+        this.storedCounter = resultCounter(meterRegistry, "stored");
+        this.deduplicatedCounter = resultCounter(meterRegistry, "deduplicated");
+    }
+
+    public StoredContent store(MultipartFile file) throws IOException {
+        Path staged = Files.createTempFile(stagingDir, "upload-", ".part");
+        try {
+            // transferTo(File) lets the container rename its spool file; an absolute path keeps it
+            // from being resolved against the multipart location
+            file.transferTo(staged.toFile());
+            String hash = sha256(staged);
+            long size = Files.size(staged);
+            Path target = resolve(hash);
+
+            if (Files.exists(target)) {
+                deduplicatedCounter.increment();
+                log.debug("Content {} already stored, dropping duplicate upload", hash);
+                return new StoredContent(hash, target, size);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE);
+                storedCounter.increment();
+            } catch (FileAlreadyExistsException e) {
+                // Same content stored concurrently; theirs is byte-identical
+                deduplicatedCounter.increment();
+            }
+            return new StoredContent(hash, target, size);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    public Path resolve(String hash) {
+        return contentDir
+                .resolve(hash.substring(0, 2))
+                .resolve(hash.substring(2, 4))
+                .resolve(hash);
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static Counter resultCounter(MeterRegistry registry, String result) {
+        return Counter.builder("los.documents.store")
+                .description("Uploaded documents by whether their content was new")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,245 @@
+package com.los.customer.service;
+
+import com.los.customer.entity.Customer;
+import com.los.customer.entity.Document;
+import com.los.customer.event.CustomerEvent;
+import com.los.customer.repository.DocumentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs OCR for uploaded documents on a bounded worker pool, off the upload request.
+ * The OCR_PENDING rows in customer.documents are the durable backlog: a document that could
+ * not be queued because the pool was full is picked up again by the sweep, which only takes as
+ * many as the queue has room for.
+ * <p>
+ * A document is claimed before it is queued: it moves to OCR_RUNNING with its claim time, either
+ * when it is saved on upload or by the sweep, which locks the rows it claims with SKIP LOCKED so
+ * instances never claim the same document. A claim that is not completed within
+ * {@code customer.ocr.lease-seconds}, because its instance stopped or lost the job, is taken
+ * over by the next sweep. The result is stored only if the claim time still matches, so a
+ * document is completed and announced once even when a slow worker outlives its lease.
+ */
+@Slf4j
+@Component
+public class OcrJobQueue {
+
+    private static final String CUSTOMER_TOPIC = "customer-events";
+
+    private final DocumentRepository documentRepository;
+    private final OcrService ocrService;
+    private final KafkaTemplate<String, CustomerEvent> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+    private final Duration lease;
+
+    private final Timer extractTimer;
+    private final Timer completedTimer;
+    private final Timer failedTimer;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+    private final Counter deferredCounter;
+
+    public OcrJobQueue(
+            DocumentRepository documentRepository,
+            OcrService ocrService,
+            KafkaTemplate<String, CustomerEvent> kafkaTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${customer.ocr.threads:2}") int threads,
+            @Value("${customer.ocr.queue-capacity:100}") int queueCapacity,
+            @Value("${customer.ocr.lease-seconds:600}") long leaseSeconds) {
+        this.documentRepository = documentRepository;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.ocrService = ocrService;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "ocr-worker-" + threadCounter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.extractTimer = Timer.builder("los.ocr.extract")
+                .description("Time spent extracting data from one document")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.completedTimer = latencyTimer(meterRegistry, "completed");
+        this.failedTimer = latencyTimer(meterRegistry, "failed");
+        this.completedCounter = outcomeCounter(meterRegistry, "completed");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+        this.deferredCounter = outcomeCounter(meterRegistry, "deferred");
+
+        Gauge.builder("los.ocr.queue.depth", workers, e -> e.getQueue().size())
+                .description("OCR jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("los.ocr.workers.active", workers, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The claim time for a document about to be saved as OCR_RUNNING and {@linkplain #submit submitted},
+     * or null when the queue is full and it should be saved OCR_PENDING for a later sweep instead.
+     */
+    public LocalDateTime claimForUpload() {
+        return workers.getQueue().remainingCapacity() > 0 ? claimTime() : null;
+    }
+
+    /**
+     * Queue OCR for a document claimed at {@code claimedAt} without blocking the caller. Returns
+     * false when the queue is full; the claim is then released so the next sweep picks it up.
+     */
+    public boolean submit(Long documentId, LocalDateTime claimedAt) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            workers.execute(() -> process(documentId, claimedAt, enqueuedAt));
+            return true;
+        } catch (RejectedExecutionException e) {
+            deferredCounter.increment();
+            log.warn("OCR queue full, document {} left pending for the next sweep", documentId);
+            release(documentId, claimedAt);
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${customer.ocr.sweep-interval-ms:60000}")
+    public void sweepPending() {
+        int room = workers.getQueue().remainingCapacity();
+        if (room == 0) {
+            return;
+        }
+        LocalDateTime claimedAt = claimTime();
+        List<Long> claimed = transactionTemplate.execute(tx -> {
+            List<Long> ids = documentRepository.lockOcrClaimableIds(room, claimedAt.minus(lease));
+            if (!ids.isEmpty()) {
+                documentRepository.claimOcr(ids, claimedAt);
+            }
+            return ids;
+        });
+        int submitted = 0;
+        for (Long documentId : claimed) {
+            if (submit(documentId, claimedAt)) {
+                submitted++;
+            }
+        }
+        if (submitted > 0) {
+            log.info("Queued {} pending OCR documents", submitted);
+        }
+    }
+
+    private void process(Long documentId, LocalDateTime claimedAt, long enqueuedAt) {
+        try {
+            // Skip documents whose claim has since expired and been taken over
+            Document document = documentRepository.findWithCustomerById(documentId)
+                    .filter(d -> d.getOcrStatus() == Document.OcrStatus.OCR_RUNNING
+                            && claimedAt.equals(d.getOcrClaimedAt()))
+                    .orElse(null);
+            if (document == null) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            String ocrData = ocrService.extractKtpData(document.getFilePath());
+            extractTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            if (store(documentId, claimedAt, ocrData, Document.OcrStatus.OCR_COMPLETED)) {
+                publishCompleted(document);
+            }
+            completedTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            completedCounter.increment();
+        } catch (RuntimeException e) {
+            failedTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            failedCounter.increment();
+            log.error("OCR failed for document {}", documentId, e);
+            try {
+                store(documentId, claimedAt, null, Document.OcrStatus.OCR_FAILED);
+            } catch (RuntimeException storeFailure) {
+                // Still claimed, so a sweep retries it once the lease runs out
+                log.warn("Could not mark document {} as OCR_FAILED: {}", documentId, storeFailure.getMessage());
+            }
+        }
+    }
+
+    private boolean store(Long documentId, LocalDateTime claimedAt, String ocrData, Document.OcrStatus status) {
+        Integer updated = transactionTemplate.execute(tx ->
+                documentRepository.completeOcr(documentId, claimedAt, ocrData, status, LocalDateTime.now()));
+        return updated != null && updated == 1;
+    }
+
+    private void release(Long documentId, LocalDateTime claimedAt) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> documentRepository.releaseOcr(documentId, claimedAt));
+        } catch (RuntimeException e) {
+            // The claim then simply runs out and a later sweep takes the document over
+            log.warn("Could not release OCR claim on document {}: {}", documentId, e.getMessage());
+        }
+    }
+
+    // Claim times are compared for equality with what the database stored, which keeps microseconds
+    private static LocalDateTime claimTime() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private void publishCompleted(Document document) {
+        Customer customer = document.getCustomer();
+        CustomerEvent event = CustomerEvent.builder()
+                .customerId(customer.getId())
+                .nik(customer.getNik())
+                .email(customer.getEmail())
+                .documentId(document.getId())
+                .eventType("DOCUMENT_OCR_COMPLETED")
+                .build();
+
+        kafkaTemplate.send(CUSTOMER_TOPIC, event);
+        log.info("Published event: DOCUMENT_OCR_COMPLETED for document ID: {}", document.getId());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Queued documents that do not finish in time stay claimed until their lease runs out
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    private static Timer latencyTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("los.ocr.job.latency")
+                .description("Time from queueing an OCR job until its result is stored")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("los.ocr.jobs")
+                .description("OCR jobs by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
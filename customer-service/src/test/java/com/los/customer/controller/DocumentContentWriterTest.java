@@ -0,0 +1,93 @@
+package com.los.customer.controller;
+
+import com.los.customer.service.DocumentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentContentWriterTest {
+
+    private static final String BODY = "0123456789";
+
+    @TempDir
+    Path dir;
+
+    private DocumentService.DocumentContent content;
+    private final DocumentContentWriter writer = new DocumentContentWriter();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path file = Files.writeString(dir.resolve("ktp.txt"), BODY);
+        content = new DocumentService.DocumentContent(file, "abc", "text/plain", "ktp.txt");
+    }
+
+    @Test
+    void satisfiableRangeIsPartialContent() throws IOException {
+        MockHttpServletResponse response = get("bytes=2-4");
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-4/10");
+        assertThat(response.getContentAsString()).isEqualTo("234");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"bytes=abc", "bytes=5-2", "items=0-1", "bytes=1-2,x"})
+    void invalidRangeHeaderIsIgnored(String range) throws IOException {
+        MockHttpServletResponse response = get(range);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"bytes=10-", "bytes=20-30", "bytes=-0", "bytes=10-12,-0"})
+    void unsatisfiableRangeIs416(String range) throws IOException {
+        MockHttpServletResponse response = get(range);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void unsatisfiableRangesAreSkippedWhenAnotherIsSatisfiable() throws IOException {
+        MockHttpServletResponse response = get("bytes=20-30,7-8");
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 7-8/10");
+        assertThat(response.getContentAsString()).isEqualTo("78");
+    }
+
+    @Test
+    void rangeIsIgnoredWhenIfRangeDoesNotMatch() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/documents/1/content");
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(content, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+
+    private MockHttpServletResponse get(String range) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/documents/1/content");
+        request.addHeader(HttpHeaders.RANGE, range);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        writer.write(content, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,118 @@
+package com.los.customer.repository;
+
+import com.los.customer.entity.Customer;
+import com.los.customer.entity.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The OCR claim queries: what a sweep may claim, and that only the current claim can complete
+ * or release a document.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:documents;MODE=PostgreSQL;INIT=CREATE SCHEMA IF NOT EXISTS customer",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class DocumentRepositoryOcrClaimTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    private static final LocalDateTime LEASE_START = NOW.minusMinutes(10);
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private Long pending;
+    private Long runningFresh;
+    private Long runningStale;
+    private Long completed;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = testEntityManager.persist(Customer.builder()
+                .nik("3171234567890001")
+                .fullName("Budi Santoso")
+                .email("budi@example.com")
+                .phoneNumber("081234567890")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .address("Jakarta")
+                .monthlyIncome(new BigDecimal("15000000"))
+                .status(Customer.CustomerStatus.ACTIVE)
+                .isVerified(true)
+                .build());
+        pending = persist(customer, Document.OcrStatus.OCR_PENDING, null);
+        runningFresh = persist(customer, Document.OcrStatus.OCR_RUNNING, NOW.minusMinutes(1));
+        runningStale = persist(customer, Document.OcrStatus.OCR_RUNNING, NOW.minusMinutes(30));
+        completed = persist(customer, Document.OcrStatus.OCR_COMPLETED, NOW.minusMinutes(30));
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void sweepClaimsPendingAndExpiredDocumentsOnly() {
+        List<Long> claimable = documentRepository.lockOcrClaimableIds(10, LEASE_START);
+        assertThat(claimable).containsExactly(pending, runningStale);
+
+        assertThat(documentRepository.claimOcr(claimable, NOW)).isEqualTo(2);
+        testEntityManager.clear();
+
+        assertThat(documentRepository.lockOcrClaimableIds(10, LEASE_START)).isEmpty();
+        assertThat(documentRepository.findById(runningStale).orElseThrow().getOcrClaimedAt()).isEqualTo(NOW);
+        assertThat(documentRepository.lockOcrClaimableIds(1, LEASE_START.plusHours(1))).containsExactly(pending);
+    }
+
+    @Test
+    void onlyTheCurrentClaimCompletesADocument() {
+        LocalDateTime expiredClaim = NOW.minusMinutes(30);
+        documentRepository.claimOcr(List.of(runningStale), NOW);
+
+        assertThat(documentRepository.completeOcr(runningStale, expiredClaim, "{}",
+                Document.OcrStatus.OCR_COMPLETED, NOW)).isZero();
+        assertThat(documentRepository.completeOcr(runningStale, NOW, "{}",
+                Document.OcrStatus.OCR_COMPLETED, NOW)).isEqualTo(1);
+        assertThat(documentRepository.completeOcr(runningStale, NOW, "{}",
+                Document.OcrStatus.OCR_COMPLETED, NOW)).isZero();
+        assertThat(documentRepository.completeOcr(completed, NOW.minusMinutes(30), "{}",
+                Document.OcrStatus.OCR_COMPLETED, NOW)).isZero();
+    }
+
+    @Test
+    void releaseHandsTheDocumentBackToTheSweep() {
+        LocalDateTime claim = NOW.minusMinutes(1);
+
+        assertThat(documentRepository.releaseOcr(runningFresh, NOW)).isZero();
+        assertThat(documentRepository.releaseOcr(runningFresh, claim)).isEqualTo(1);
+        testEntityManager.clear();
+
+        assertThat(documentRepository.lockOcrClaimableIds(10, LEASE_START)).contains(runningFresh);
+    }
+
+    private Long persist(Customer customer, Document.OcrStatus ocrStatus, LocalDateTime claimedAt) {
+        return testEntityManager.persist(Document.builder()
+                .customer(customer)
+                .documentType(Document.DocumentType.KTP)
+                .fileName("ktp.jpg")
+                .filePath("/data/documents/ktp.jpg")
+                .ocrStatus(ocrStatus)
+                .ocrClaimedAt(claimedAt)
+                .status(Document.DocumentStatus.UPLOADED)
+                .build()).getId();
+    }
+}
@@ -0,0 +1,143 @@
+package com.los.customer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.los.customer.dto.CustomerRequest;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerImportReaderTest {
+
+    private static final String HEADER = "nik,fullName,email,phoneNumber,dateOfBirth,address,monthlyIncome,occupation\n";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void readsPlainRows() throws IOException {
+        List<CustomerImportReader.Row> rows = csv(HEADER
+                + "3174012345678901,John Doe,john@example.com,081234567890,1990-01-15,Jakarta,15000000,Engineer\n");
+
+        assertThat(rows).hasSize(1);
+        CustomerRequest request = rows.get(0).request();
+        assertThat(rows.get(0).number()).isEqualTo(1);
+        assertThat(request.getNik()).isEqualTo("3174012345678901");
+        assertThat(request.getDateOfBirth()).isEqualTo(LocalDate.of(1990, 1, 15));
+        assertThat(request.getMonthlyIncome()).isEqualByComparingTo(new BigDecimal("15000000"));
+    }
+
+    @Test
+    void quotedFieldsMayHoldCommasQuotesAndLineBreaks() throws IOException {
+        List<CustomerImportReader.Row> rows = csv(HEADER
+                + "3174012345678901,\"Doe, John \"\"JD\"\"\",john@example.com,081234567890,1990-01-15,"
+                + "\"Jl. Sudirman No. 123\r\nJakarta\",15000000,\"\"\n");
+
+        assertThat(rows).hasSize(1);
+        CustomerRequest request = rows.get(0).request();
+        assertThat(request.getFullName()).isEqualTo("Doe, John \"JD\"");
+        assertThat(request.getAddress()).isEqualTo("Jl. Sudirman No. 123\r\nJakarta");
+        assertThat(request.getOccupation()).isNull();
+    }
+
+    @Test
+    void headerColumnsMayBeSnakeCaseInAnyOrder() throws IOException {
+        List<CustomerImportReader.Row> rows = csv("\uFEFFemail,nik,full_name,phone_number,date_of_birth,"
+                + "address,monthly_income,occupation,extra\r\n"
+                + "john@example.com,3174012345678901,John Doe,081234567890,1990-01-15,Jakarta,15000000,Engineer,x\r\n"
+                + "\r\n"
+                + "jane@example.com,3174012345678902,Jane Doe,081234567891,1991-02-20,Bandung,9000000,Analyst,y");
+
+        assertThat(rows).extracting(CustomerImportReader.Row::number).containsExactly(1L, 2L);
+        assertThat(rows).extracting(row -> row.request().getNik())
+                .containsExactly("3174012345678901", "3174012345678902");
+        assertThat(rows.get(1).request().getOccupation()).isEqualTo("Analyst");
+    }
+
+    @Test
+    void unconvertibleValuesRejectOnlyTheirRow() throws IOException {
+        List<CustomerImportReader.Row> rows = csv(HEADER
+                + "3174012345678901,John Doe,john@example.com,081234567890,15/01/1990,Jakarta,15000000,Engineer\n"
+                + "3174012345678902,Jane Doe,jane@example.com,081234567891,1991-02-20,Bandung,lots,Analyst\n"
+                + "3174012345678903,Jim Doe,jim@example.com,081234567892,1992-03-25,Surabaya,8000000,Teacher\n");
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).request()).isNull();
+        assertThat(rows.get(0).error()).isEqualTo("dateOfBirth: invalid value '15/01/1990'");
+        assertThat(rows.get(1).error()).isEqualTo("monthlyIncome: invalid value 'lots'");
+        assertThat(rows.get(2).error()).isNull();
+    }
+
+    @Test
+    void shortRowsLeaveMissingFieldsEmpty() throws IOException {
+        List<CustomerImportReader.Row> rows = csv(HEADER + "3174012345678901,John Doe\n");
+
+        assertThat(rows.get(0).request().getFullName()).isEqualTo("John Doe");
+        assertThat(rows.get(0).request().getEmail()).isNull();
+    }
+
+    @Test
+    void headerMustNameEveryColumn() {
+        assertThatThrownBy(() -> csv("nik,fullName,email\n"))
+                .isInstanceOf(CustomerImportReader.MalformedImportException.class)
+                .hasMessageContaining("phoneNumber");
+        assertThatThrownBy(() -> csv(""))
+                .isInstanceOf(CustomerImportReader.MalformedImportException.class)
+                .hasMessage("CSV header is missing");
+    }
+
+    @Test
+    void unterminatedQuoteIsMalformed() {
+        assertThatThrownBy(() -> csv(HEADER + "3174012345678901,\"John Doe,john@example.com\n"))
+                .isInstanceOf(CustomerImportReader.MalformedImportException.class)
+                .hasMessage("Row 1: unterminated quoted field");
+    }
+
+    @Test
+    void oversizedFieldsAndRowsAreMalformed() {
+        String longField = "x".repeat(CustomerImportReader.MAX_FIELD_LENGTH + 1);
+        assertThatThrownBy(() -> csv(HEADER + "3174012345678901," + longField + "\n"))
+                .isInstanceOf(CustomerImportReader.MalformedImportException.class)
+                .hasMessageContaining("field longer than");
+
+        String manyFields = ",".repeat(CustomerImportReader.MAX_FIELDS + 1);
+        assertThatThrownBy(() -> csv(HEADER + manyFields + "\n"))
+                .isInstanceOf(CustomerImportReader.MalformedImportException.class)
+                .hasMessageContaining("more than " + CustomerImportReader.MAX_FIELDS + " fields");
+    }
+
+    @Test
+    void ndjsonRowsAreReadPerLine() throws IOException {
+        List<CustomerImportReader.Row> rows = read(CustomerImportReader.Format.NDJSON,
+                "{\"nik\":\"3174012345678901\",\"fullName\":\"John Doe\",\"dateOfBirth\":\"1990-01-15\"}\n"
+                        + "\n"
+                        + "{\"nik\":\n");
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).request().getDateOfBirth()).isEqualTo(LocalDate.of(1990, 1, 15));
+        assertThat(rows.get(1).number()).isEqualTo(2);
+        assertThat(rows.get(1).error()).startsWith("Malformed JSON");
+    }
+
+    private List<CustomerImportReader.Row> csv(String body) throws IOException {
+        return read(CustomerImportReader.Format.CSV, body);
+    }
+
+    private List<CustomerImportReader.Row> read(CustomerImportReader.Format format, String body) throws IOException {
+        List<CustomerImportReader.Row> rows = new ArrayList<>();
+        try (CustomerImportReader reader = new CustomerImportReader(new StringReader(body), format, objectMapper)) {
+            CustomerImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,77 @@
+package com.los.customer.service;
+
+import com.los.customer.entity.Customer;
+import com.los.customer.event.CustomerEvent;
+import com.los.customer.mapper.CustomerMapper;
+import com.los.customer.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Customer write events leave only once the write has committed.
+ */
+class CustomerServiceEventTest {
+
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, CustomerEvent> kafkaTemplate = mock(KafkaTemplate.class);
+    private CustomerService customerService;
+
+    @BeforeEach
+    void setUp() {
+        customerService = new CustomerService(customerRepository, mock(CustomerMapper.class), kafkaTemplate,
+                mock(OcrService.class), mock(CustomerKeyFilter.class), mock(CustomerCache.class));
+        Customer customer = Customer.builder()
+                .id(7L)
+                .nik("3171234567890001")
+                .email("budi@example.com")
+                .status(Customer.CustomerStatus.PENDING_VERIFICATION)
+                .build();
+        when(customerRepository.findById(7L)).thenReturn(Optional.of(customer));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void eventIsSentAfterCommit() {
+        customerService.blacklistCustomer(7L, "fraud");
+        verify(kafkaTemplate, never()).send(anyString(), any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        ArgumentCaptor<CustomerEvent> event = ArgumentCaptor.forClass(CustomerEvent.class);
+        verify(kafkaTemplate).send(eq("customer-events"), event.capture());
+        assertThat(event.getValue().getEventType()).isEqualTo("CUSTOMER_BLACKLISTED");
+        assertThat(event.getValue().getCustomerId()).isEqualTo(7L);
+    }
+
+    @Test
+    void eventIsNotSentWhenTheWriteRollsBack() {
+        customerService.verifyCustomer(7L);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(kafkaTemplate, never()).send(anyString(), any());
+    }
+}
@@ -0,0 +1,33 @@
+package com.los.loan.config;
+
+import com.los.loan.entity.Approval;
+import com.los.loan.entity.LoanProduct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Approval chains per product. Rules are checked in order and the first one whose product type
+ * matches and whose max amount (if any) covers the requested amount wins; otherwise the default chain applies.
+ */
+@Data
+@ConfigurationProperties(prefix = "loan.approval")
+public class ApprovalWorkflowProperties {
+
+    private List<Approval.ApprovalLevel> defaultChain = new ArrayList<>(List.of(
+            Approval.ApprovalLevel.SURVEYOR,
+            Approval.ApprovalLevel.CREDIT_ANALYST,
+            Approval.ApprovalLevel.MANAGER));
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private LoanProduct.ProductType productType;
+        private BigDecimal maxAmount; // inclusive; null matches any amount
+        private List<Approval.ApprovalLevel> levels = new ArrayList<>();
+    }
+}
@@ -0,0 +1,45 @@
+package com.los.loan.consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.los.loan.event.CreditCheckedEvent;
+import com.los.loan.service.LoanService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Applies CREDIT_CHECKED results from credit-engine-service. Records arrive in batches per
+ * partition; each result is applied in its own short transaction so one bad record
+ * does not hold back the rest of the batch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CreditEventConsumer {
+
+    private final LoanService loanService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(topics = "credit-events", groupId = "loan-service",
+            concurrency = "${loan.credit-events.listener-concurrency:3}")
+    public void consumeCreditEvents(List<String> messages) {
+        for (String message : messages) {
+            CreditCheckedEvent event;
+            try {
+                event = objectMapper.readValue(message, CreditCheckedEvent.class);
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping unreadable credit event: {}", message);
+                continue;
+            }
+            if (!CreditCheckedEvent.TYPE.equals(event.getEventType()) || event.getLoanId() == null
+                    || event.getDecision() == null) {
+                continue;
+            }
+            loanService.applyCreditCheck(event);
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package com.los.loan.controller;
 
 import com.los.loan.dto.*;
+import com.los.loan.entity.Loan;
+import com.los.loan.entity.LoanProduct;
 import com.los.loan.service.LoanService;
+import com.los.loan.service.SpkGenerator;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/loans")
@@ -16,6 +25,7 @@ import java.util.List;
 public class LoanController {
 
     private final LoanService loanService;
+    private final SpkGenerator spkGenerator;
 
     @PostMapping("/apply")
     public ResponseEntity<LoanResponse> applyForLoan(@Valid @RequestBody LoanApplicationRequest request) {
@@ -23,6 +33,40 @@ public class LoanController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/apply/batch")
+    public ResponseEntity<LoanBatchResponse> applyForLoans(@RequestBody List<LoanApplicationRequest> requests) {
+        LoanBatchResponse response = loanService.applyForLoans(requests);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/quote")
+    public ResponseEntity<LoanQuoteResponse> quote(@Valid @RequestBody LoanQuoteRequest request) {
+        LoanQuoteResponse response = loanService.quote(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/schedule")
+    public ResponseEntity<ScheduleResponse> getSchedule(@PathVariable Long id) {
+        ScheduleResponse response = loanService.getSchedule(id);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/{id}/schedule", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSchedule(@PathVariable Long id) {
+        Stream<ScheduleEntry> entries = loanService.streamSchedule(id);
+        StreamingResponseBody body = out -> loanService.writeSchedule(entries, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/products")
+    public ResponseEntity<List<ProductResponse>> getProducts(
+            @RequestParam(required = false) LoanProduct.ProductType type) {
+        List<ProductResponse> response = loanService.getProducts(type);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<LoanResponse> getLoanById(@PathVariable Long id) {
         LoanResponse response = loanService.getLoanById(id);
@@ -42,11 +86,31 @@ public class LoanController {
     }
 
     @GetMapping
-    public ResponseEntity<List<LoanResponse>> getAllLoans() {
-        List<LoanResponse> response = loanService.getAllLoans();
+    public ResponseEntity<LoanPageResponse> getLoans(
+            @RequestParam(required = false) Loan.LoanStatus status,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        LoanSearchFilter filter = new LoanSearchFilter(status, productId, createdFrom, createdTo);
+        LoanPageResponse response = loanService.getLoans(filter, cursor, limit);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamLoans(
+            @RequestParam(required = false) Loan.LoanStatus status,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        LoanSearchFilter filter = new LoanSearchFilter(status, productId, createdFrom, createdTo);
+        StreamingResponseBody body = out -> loanService.streamLoans(filter, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @PostMapping("/{id}/approve")
     public ResponseEntity<LoanResponse> approveLoan(
             @PathVariable Long id,
@@ -56,10 +120,23 @@ public class LoanController {
     }
 
     @PostMapping("/{id}/disburse")
-    public ResponseEntity<Void> disburseLoan(
+    public ResponseEntity<DisbursementResponse> disburseLoan(
             @PathVariable Long id,
             @Valid @RequestBody DisbursementRequest request) {
-        loanService.disburseLoan(id, request);
-        return ResponseEntity.ok().build();
+        DisbursementResponse response = loanService.disburseLoan(id, request);
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/{id}/disbursement")
+    public ResponseEntity<DisbursementResponse> getDisbursementStatus(@PathVariable Long id) {
+        DisbursementResponse response = loanService.getDisbursementByLoanId(id);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/disbursements/spk")
+    public ResponseEntity<SpkBatchResponse> generateSpkDocuments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        SpkBatchResponse response = spkGenerator.generateForDate(date);
+        return ResponseEntity.ok(response);
     }
 }
@@ -0,0 +1,26 @@
+package com.los.loan.dto;
+
+import com.los.loan.entity.Disbursement;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DisbursementResponse {
+    private Long id;
+    private Long loanId;
+    private BigDecimal amount;
+    private Disbursement.DisbursementMethod disbursementMethod;
+    private String bankCode;
+    private Disbursement.DisbursementStatus status;
+    private Integer attempts;
+    private String transferReference;
+    private String failureReason;
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime disbursedAt;
+}
@@ -33,4 +33,11 @@ public class LoanApplicationRequest {
     @NotBlank(message = "Purpose is required")
     @Size(max = 500, message = "Purpose must not exceed 500 characters")
     private String purpose;
+
+    // Declared financials used by the automatic credit check; optional
+    @DecimalMin(value = "0.0", inclusive = false, message = "Monthly income must be greater than 0")
+    private BigDecimal monthlyIncome;
+
+    @DecimalMin(value = "0.0", message = "Existing debt cannot be negative")
+    private BigDecimal existingDebt;
 }
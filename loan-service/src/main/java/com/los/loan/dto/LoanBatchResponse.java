@@ -0,0 +1,32 @@
+package com.los.loan.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanBatchResponse {
+    private int total;
+    private int accepted;
+    private int rejected;
+    private List<ItemResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ItemResult {
+        private int index;
+        private Long loanId;
+        private ItemStatus status;
+        private String error;
+    }
+
+    public enum ItemStatus {
+        CREATED,
+        REJECTED
+    }
+}
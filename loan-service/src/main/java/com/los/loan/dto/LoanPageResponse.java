@@ -0,0 +1,14 @@
+package com.los.loan.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanPageResponse {
+    private List<LoanResponse> items;
+    private String nextCursor; // null when there are no more rows
+}
@@ -0,0 +1,22 @@
+package com.los.loan.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanQuoteResponse {
+    private Long productId;
+    private String productName;
+    private BigDecimal principal;
+    private BigDecimal interestRate;
+    private Integer tenor;
+    private BigDecimal monthlyInstallment;
+    private BigDecimal totalPayment;
+    private BigDecimal totalInterest;
+    private List<ScheduleEntry> schedule; // only when requested
+}
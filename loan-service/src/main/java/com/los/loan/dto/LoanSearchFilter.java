@@ -0,0 +1,17 @@
+package com.los.loan.dto;
+
+import com.los.loan.entity.Loan;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanSearchFilter {
+    private Loan.LoanStatus status;
+    private Long productId;
+    private LocalDateTime createdFrom; // inclusive
+    private LocalDateTime createdTo;   // exclusive
+}
@@ -0,0 +1,23 @@
+package com.los.loan.dto;
+
+import com.los.loan.entity.LoanProduct;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductResponse {
+    private Long id;
+    private String productName;
+    private String description;
+    private LoanProduct.ProductType productType;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private Integer minTenor;
+    private Integer maxTenor;
+    private BigDecimal interestRate;
+    private Boolean isActive;
+}
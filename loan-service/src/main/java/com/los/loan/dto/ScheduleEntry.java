@@ -0,0 +1,17 @@
+package com.los.loan.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduleEntry {
+    private int period; // 1-based month
+    private BigDecimal installment;
+    private BigDecimal principal;
+    private BigDecimal interest;
+    private BigDecimal balance; // outstanding after this payment
+}
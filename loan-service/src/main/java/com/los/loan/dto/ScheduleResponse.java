@@ -0,0 +1,19 @@
+package com.los.loan.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduleResponse {
+    private Long loanId;
+    private BigDecimal principal;
+    private BigDecimal interestRate;
+    private Integer tenor;
+    private BigDecimal monthlyInstallment;
+    private List<ScheduleEntry> entries;
+}
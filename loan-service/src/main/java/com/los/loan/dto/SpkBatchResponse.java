@@ -0,0 +1,17 @@
+package com.los.loan.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SpkBatchResponse {
+    private LocalDate date;
+    private Integer candidates;
+    private Integer generated;
+    private Integer failed;
+    private Long elapsedMs;
+}
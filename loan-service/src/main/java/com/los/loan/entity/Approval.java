@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class Approval {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "approval_seq")
+    @SequenceGenerator(name = "approval_seq", sequenceName = "loan.approvals_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -38,6 +39,10 @@ public class Approval {
     @Column(length = 1000)
     private String notes;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -45,7 +50,12 @@ public class Approval {
     public enum ApprovalLevel {
         SURVEYOR,
         CREDIT_ANALYST,
-        MANAGER
+        MANAGER;
+
+        // Position in the loan's approval bitmasks; append new levels at the end to keep stored masks valid
+        public int bit() {
+            return 1 << ordinal();
+        }
     }
 
     public enum ApprovalDecision {
@@ -48,6 +48,23 @@ public class Disbursement {
     @Column(nullable = false, length = 20)
     private DisbursementStatus status;
 
+    @Column(nullable = false)
+    private Integer attempts; // transfer attempts made so far
+
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime processingStartedAt;
+
+    @Column(length = 100)
+    private String transferReference;
+
+    @Column(length = 500)
+    private String failureReason;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class Loan {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_seq")
+    @SequenceGenerator(name = "loan_seq", sequenceName = "loan.loans_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -53,6 +54,19 @@ public class Loan {
     @Column(length = 500)
     private String purpose;
 
+    @Column(precision = 15, scale = 2)
+    private BigDecimal monthlyIncome; // declared by the applicant
+
+    @Column(precision = 15, scale = 2)
+    private BigDecimal existingDebt; // declared monthly obligations
+
+    private Integer creditScore;
+
+    @Column(length = 20)
+    private String creditDecision; // APPROVED, REJECTED, REVIEW or ERROR from credit-engine-service
+
+    private LocalDateTime creditCheckedAt;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 50)
     private LoanStatus status;
@@ -60,6 +74,16 @@ public class Loan {
     @Column(length = 1000)
     private String remarks;
 
+    @Column(nullable = false)
+    private Integer requiredApprovals; // bitmask of Approval.ApprovalLevel.bit()
+
+    @Column(nullable = false)
+    private Integer grantedApprovals; // bitmask of levels that have approved
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -50,6 +50,10 @@ public class LoanProduct {
     @Column(nullable = false)
     private Boolean isActive = true;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
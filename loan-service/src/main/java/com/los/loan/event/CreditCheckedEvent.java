@@ -0,0 +1,30 @@
+package com.los.loan.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Result published by credit-engine-service to credit-events after scoring a LOAN_APPLIED event.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreditCheckedEvent {
+    public static final String TYPE = "CREDIT_CHECKED";
+
+    private String eventType;
+    private Long loanId;
+    private Long customerId;
+    private BigDecimal dtiRatio;
+    private Integer creditScore;
+    private String decision; // APPROVED, REJECTED, REVIEW, ERROR
+    private String remarks;
+    private String ruleVersion;
+    private LocalDateTime checkedAt;
+}
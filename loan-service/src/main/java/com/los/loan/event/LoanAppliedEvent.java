@@ -0,0 +1,32 @@
+package com.los.loan.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published to loan-events when an application is created; carries what the credit check needs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanAppliedEvent {
+    public static final String TYPE = "LOAN_APPLIED";
+
+    private String eventType;
+    private Long loanId;
+    private Long customerId;
+    private Long productId;
+    private BigDecimal requestedAmount;
+    private BigDecimal downPayment;
+    private Integer tenor;
+    private BigDecimal interestRate;
+    private BigDecimal monthlyIncome;
+    private BigDecimal existingDebt;
+    private LocalDateTime appliedAt;
+}
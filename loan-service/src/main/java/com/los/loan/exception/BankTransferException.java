@@ -0,0 +1,11 @@
+package com.los.loan.exception;
+
+public class BankTransferException extends RuntimeException {
+    public BankTransferException(String message) {
+        super(message);
+    }
+
+    public BankTransferException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,11 +2,38 @@ package com.los.loan.repository;
 
 import com.los.loan.entity.Disbursement;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DisbursementRepository extends JpaRepository<Disbursement, Long> {
     Optional<Disbursement> findByLoanId(Long loanId);
+
+    @Query(value = "SELECT * FROM loan.disbursements " +
+            "WHERE status = 'PENDING' AND (next_attempt_at IS NULL OR next_attempt_at <= :now) " +
+            "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Disbursement> lockDuePending(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE Disbursement d SET d.status = 'PENDING', d.processingStartedAt = null, d.version = d.version + 1 " +
+            "WHERE d.status = 'PROCESSING' AND d.processingStartedAt < :cutoff")
+    int releaseStaleProcessing(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT d FROM Disbursement d JOIN FETCH d.loan WHERE d.id = :id")
+    Optional<Disbursement> findWithLoanById(@Param("id") Long id);
+
+    @Query("SELECT d FROM Disbursement d JOIN FETCH d.loan " +
+            "WHERE d.status = 'COMPLETED' AND d.spkFilePath IS NULL " +
+            "AND d.disbursedAt >= :from AND d.disbursedAt < :to ORDER BY d.id")
+    List<Disbursement> findCompletedWithoutSpk(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("UPDATE Disbursement d SET d.spkFilePath = :path, d.version = d.version + 1 WHERE d.id = :id")
+    int updateSpkFilePath(@Param("id") Long id, @Param("path") String path);
 }
@@ -2,12 +2,24 @@ package com.los.loan.repository;
 
 import com.los.loan.entity.LoanProduct;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface LoanProductRepository extends JpaRepository<LoanProduct, Long> {
     List<LoanProduct> findByIsActiveTrue();
     List<LoanProduct> findByProductType(LoanProduct.ProductType productType);
+
+    @Query("SELECT COUNT(p) AS productCount, COALESCE(SUM(p.version), 0) AS versionSum, " +
+            "MAX(p.updatedAt) AS lastUpdated FROM LoanProduct p")
+    CatalogVersion findCatalogVersion();
+
+    interface CatalogVersion {
+        long getProductCount();
+        long getVersionSum();
+        LocalDateTime getLastUpdated();
+    }
 }
@@ -1,13 +1,24 @@
 package com.los.loan.repository;
 
 import com.los.loan.entity.Loan;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface LoanRepository extends JpaRepository<Loan, Long> {
+public interface LoanRepository extends JpaRepository<Loan, Long>, LoanRepositoryCustom {
     List<Loan> findByCustomerId(Long customerId);
     List<Loan> findByStatus(Loan.LoanStatus status);
+
+    // Bumps the version at commit even when the loan itself is not modified,
+    // so a disbursement conflicts with any concurrent change to the loan
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT l FROM Loan l WHERE l.id = :id")
+    Optional<Loan> findByIdForUpdateCheck(@Param("id") Long id);
 }
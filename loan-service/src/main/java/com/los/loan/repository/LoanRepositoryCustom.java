@@ -0,0 +1,31 @@
+package com.los.loan.repository;
+
+import com.los.loan.dto.LoanResponse;
+import com.los.loan.dto.LoanSearchFilter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface LoanRepositoryCustom {
+
+    Optional<LoanResponse> findResponseById(Long id);
+
+    /**
+     * All loans of one customer, newest first.
+     */
+    List<LoanResponse> findResponsesByCustomerId(Long customerId);
+
+    /**
+     * Keyset page ordered by (created_at, id) descending.
+     * Pass null for {@code afterCreatedAt}/{@code afterId} to start from the newest loan.
+     */
+    List<LoanResponse> findPage(LoanSearchFilter filter, LocalDateTime afterCreatedAt, Long afterId, int limit);
+
+    /**
+     * Server-side cursor over all matching loans in the same order as {@link #findPage}.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    Stream<LoanResponse> streamAll(LoanSearchFilter filter, int fetchSize);
+}
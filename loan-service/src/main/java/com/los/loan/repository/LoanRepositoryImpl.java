@@ -0,0 +1,119 @@
+package com.los.loan.repository;
+
+import com.los.loan.dto.LoanResponse;
+import com.los.loan.dto.LoanSearchFilter;
+import com.los.loan.entity.Loan;
+import com.los.loan.entity.LoanProduct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Read paths that project straight into {@link LoanResponse}, joining the product in the same
+ * statement so no entity (and no lazy product proxy) is ever materialized.
+ */
+public class LoanRepositoryImpl implements LoanRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<LoanResponse> findResponseById(Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LoanResponse> query = cb.createQuery(LoanResponse.class);
+        Root<Loan> loan = query.from(Loan.class);
+        selectResponse(cb, query, loan);
+        query.where(cb.equal(loan.get("id"), id));
+        return entityManager.createQuery(query).getResultList().stream().findFirst();
+    }
+
+    @Override
+    public List<LoanResponse> findResponsesByCustomerId(Long customerId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LoanResponse> query = cb.createQuery(LoanResponse.class);
+        Root<Loan> loan = query.from(Loan.class);
+        selectResponse(cb, query, loan);
+        query.where(cb.equal(loan.get("customerId"), customerId));
+        query.orderBy(cb.desc(loan.get("createdAt")), cb.desc(loan.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<LoanResponse> findPage(LoanSearchFilter filter, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        return buildQuery(filter, afterCreatedAt, afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<LoanResponse> streamAll(LoanSearchFilter filter, int fetchSize) {
+        return buildQuery(filter, null, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private TypedQuery<LoanResponse> buildQuery(LoanSearchFilter filter, LocalDateTime afterCreatedAt, Long afterId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LoanResponse> query = cb.createQuery(LoanResponse.class);
+        Root<Loan> loan = query.from(Loan.class);
+        Join<Loan, LoanProduct> product = selectResponse(cb, query, loan);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(loan.get("status"), filter.getStatus()));
+        }
+        if (filter.getProductId() != null) {
+            predicates.add(cb.equal(product.get("id"), filter.getProductId()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(loan.get("createdAt"), filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(loan.get("createdAt"), filter.getCreatedTo()));
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            // (created_at, id) < (:afterCreatedAt, :afterId)
+            predicates.add(cb.or(
+                    cb.lessThan(loan.get("createdAt"), afterCreatedAt),
+                    cb.and(
+                            cb.equal(loan.get("createdAt"), afterCreatedAt),
+                            cb.lessThan(loan.get("id"), afterId))));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.desc(loan.get("createdAt")), cb.desc(loan.get("id")));
+        return entityManager.createQuery(query);
+    }
+
+    private Join<Loan, LoanProduct> selectResponse(CriteriaBuilder cb, CriteriaQuery<LoanResponse> query, Root<Loan> loan) {
+        Join<Loan, LoanProduct> product = loan.join("product");
+        query.select(cb.construct(LoanResponse.class,
+                loan.get("id"),
+                loan.get("customerId"),
+                product.get("id"),
+                product.get("productName"),
+                loan.get("requestedAmount"),
+                loan.get("approvedAmount"),
+                loan.get("tenor"),
+                loan.get("downPayment"),
+                loan.get("interestRate"),
+                loan.get("monthlyInstallment"),
+                loan.get("totalPayment"),
+                loan.get("purpose"),
+                loan.get("status"),
+                loan.get("remarks"),
+                loan.get("createdAt"),
+                loan.get("approvedAt"),
+                loan.get("disbursedAt")));
+        return product;
+    }
+}
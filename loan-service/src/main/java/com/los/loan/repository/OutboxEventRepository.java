@@ -0,0 +1,25 @@
+package com.los.loan.repository;
+
+import com.los.loan.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Lock the oldest undelivered event of each loan. A loan's next event only becomes eligible once
+     * this one is deleted, so at most one relay has a loan's event in flight and a failed send holds
+     * back everything after it.
+     */
+    @Query(value = "SELECT * FROM loan.outbox_events e " +
+            "WHERE e.event_key IS NULL OR NOT EXISTS (SELECT 1 FROM loan.outbox_events p " +
+            "WHERE p.event_key = e.event_key AND p.sequence_number < e.sequence_number) " +
+            "ORDER BY e.sequence_number LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> lockBatch(@Param("limit") int limit);
+}
@@ -0,0 +1,170 @@
+package com.los.loan.service;
+
+import com.los.loan.dto.ScheduleEntry;
+import com.los.loan.entity.LoanProduct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Annuity pricing and repayment schedules.
+ * The expensive part of the annuity formula, 1 - (1 + r)^-n, depends only on the product rate and
+ * the tenor, so it is computed once per (rate, tenor) pair and reused. Rounding matches the original
+ * inline calculation exactly: monthly rate at scale 4, denominator at scale 10, installment at scale 2.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AmortizationEngine {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal TWELVE = BigDecimal.valueOf(12);
+    private static final int MAX_CACHED_FACTORS = 10_000;
+
+    private final ProductCatalog productCatalog;
+    private final ConcurrentMap<FactorKey, AnnuityFactor> factors = new ConcurrentHashMap<>();
+
+    /**
+     * Precompute factors for every tenor each catalog product allows.
+     */
+    @EventListener({ApplicationReadyEvent.class, ProductCatalog.ReloadedEvent.class})
+    public void warmUp() {
+        int before = factors.size();
+        for (LoanProduct product : productCatalog.allById().values()) {
+            if (product.getInterestRate() == null) {
+                continue;
+            }
+            for (int tenor = product.getMinTenor(); tenor <= product.getMaxTenor(); tenor++) {
+                factor(product.getInterestRate(), tenor);
+            }
+        }
+        log.info("Annuity factor cache warmed: {} new entries, {} total", factors.size() - before, factors.size());
+    }
+
+    public AnnuityFactor factor(BigDecimal annualRate, int tenor) {
+        FactorKey key = new FactorKey(annualRate.stripTrailingZeros(), tenor);
+        AnnuityFactor cached = factors.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (factors.size() >= MAX_CACHED_FACTORS) {
+            return AnnuityFactor.compute(annualRate, tenor);
+        }
+        return factors.computeIfAbsent(key, k -> AnnuityFactor.compute(annualRate, tenor));
+    }
+
+    public BigDecimal monthlyInstallment(BigDecimal principal, BigDecimal annualRate, int tenor) {
+        return factor(annualRate, tenor).installment(principal);
+    }
+
+    /**
+     * Month-by-month schedule, produced lazily one entry at a time.
+     * Interest accrues on the outstanding balance; the final period absorbs rounding so the balance ends at zero.
+     */
+    public Stream<ScheduleEntry> schedule(BigDecimal principal, BigDecimal annualRate, int tenor) {
+        AnnuityFactor factor = factor(annualRate, tenor);
+        Iterator<ScheduleEntry> iterator = new ScheduleIterator(principal, factor, factor.installment(principal));
+        return StreamSupport.stream(Spliterators.spliterator(iterator, tenor,
+                Spliterator.ORDERED | Spliterator.SIZED | Spliterator.NONNULL), false);
+    }
+
+    private record FactorKey(BigDecimal annualRate, int tenor) {
+    }
+
+    /**
+     * Precomputed pieces of the annuity formula for one (rate, tenor) pair.
+     */
+    public static final class AnnuityFactor {
+        private final BigDecimal monthlyRate;
+        private final BigDecimal denominator; // null when the rate is zero
+        private final int tenor;
+
+        private AnnuityFactor(BigDecimal monthlyRate, BigDecimal denominator, int tenor) {
+            this.monthlyRate = monthlyRate;
+            this.denominator = denominator;
+            this.tenor = tenor;
+        }
+
+        static AnnuityFactor compute(BigDecimal annualRate, int tenor) {
+            BigDecimal monthlyRate = annualRate.divide(HUNDRED, 4, RoundingMode.HALF_UP)
+                    .divide(TWELVE, 4, RoundingMode.HALF_UP);
+            if (monthlyRate.compareTo(BigDecimal.ZERO) == 0) {
+                return new AnnuityFactor(monthlyRate, null, tenor);
+            }
+            BigDecimal denominator = BigDecimal.ONE.subtract(
+                    BigDecimal.ONE.divide(
+                            BigDecimal.ONE.add(monthlyRate).pow(tenor), 10, RoundingMode.HALF_UP
+                    )
+            );
+            return new AnnuityFactor(monthlyRate, denominator, tenor);
+        }
+
+        public BigDecimal getMonthlyRate() {
+            return monthlyRate;
+        }
+
+        public BigDecimal installment(BigDecimal principal) {
+            if (denominator == null) {
+                return principal.divide(BigDecimal.valueOf(tenor), 2, RoundingMode.HALF_UP);
+            }
+            return principal.multiply(monthlyRate).divide(denominator, 2, RoundingMode.HALF_UP);
+        }
+    }
+
+    private static final class ScheduleIterator implements Iterator<ScheduleEntry> {
+        private final AnnuityFactor factor;
+        private final BigDecimal installment;
+        private BigDecimal balance;
+        private int period;
+
+        ScheduleIterator(BigDecimal principal, AnnuityFactor factor, BigDecimal installment) {
+            this.factor = factor;
+            this.installment = installment;
+            this.balance = principal.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return period < factor.tenor;
+        }
+
+        @Override
+        public ScheduleEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            period++;
+            BigDecimal interest = balance.multiply(factor.monthlyRate).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal principalPart;
+            BigDecimal payment;
+            if (period == factor.tenor) {
+                principalPart = balance;
+                payment = balance.add(interest);
+            } else {
+                principalPart = installment.subtract(interest).min(balance);
+                payment = principalPart.add(interest);
+            }
+            balance = balance.subtract(principalPart);
+            return ScheduleEntry.builder()
+                    .period(period)
+                    .installment(payment)
+                    .principal(principalPart)
+                    .interest(interest)
+                    .balance(balance)
+                    .build();
+        }
+    }
+}
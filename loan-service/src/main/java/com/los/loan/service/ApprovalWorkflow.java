@@ -0,0 +1,72 @@
+package com.los.loan.service;
+
+import com.los.loan.config.ApprovalWorkflowProperties;
+import com.los.loan.entity.Approval;
+import com.los.loan.entity.LoanProduct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Resolves which approval levels a loan needs.
+ * Chains are encoded as bitmasks of {@link Approval.ApprovalLevel#bit()} so the loan row can track
+ * progress in two integers and completion is a single comparison.
+ */
+@Slf4j
+@Component
+public class ApprovalWorkflow {
+
+    private final int defaultMask;
+    private final Map<LoanProduct.ProductType, List<CompiledRule>> rulesByType;
+
+    public ApprovalWorkflow(ApprovalWorkflowProperties properties) {
+        this.defaultMask = toMask(properties.getDefaultChain());
+        if (defaultMask == 0) {
+            throw new IllegalStateException("loan.approval.default-chain must contain at least one level");
+        }
+
+        Map<LoanProduct.ProductType, List<CompiledRule>> compiled = new EnumMap<>(LoanProduct.ProductType.class);
+        for (ApprovalWorkflowProperties.Rule rule : properties.getRules()) {
+            int mask = toMask(rule.getLevels());
+            if (rule.getProductType() == null || mask == 0) {
+                throw new IllegalStateException("Approval rule needs a product type and at least one level: " + rule);
+            }
+            compiled.computeIfAbsent(rule.getProductType(), t -> new ArrayList<>())
+                    .add(new CompiledRule(rule.getMaxAmount(), mask));
+        }
+        this.rulesByType = compiled;
+        log.info("Approval workflow: default chain {}, {} product rules", properties.getDefaultChain(), properties.getRules().size());
+    }
+
+    public int requiredLevels(LoanProduct product, BigDecimal requestedAmount) {
+        for (CompiledRule rule : rulesByType.getOrDefault(product.getProductType(), List.of())) {
+            if (rule.maxAmount == null || requestedAmount.compareTo(rule.maxAmount) <= 0) {
+                return rule.mask;
+            }
+        }
+        return defaultMask;
+    }
+
+    public static List<Approval.ApprovalLevel> levelsOf(int mask) {
+        List<Approval.ApprovalLevel> levels = new ArrayList<>(Integer.bitCount(mask));
+        for (Approval.ApprovalLevel level : Approval.ApprovalLevel.values()) {
+            if ((mask & level.bit()) != 0) {
+                levels.add(level);
+            }
+        }
+        return levels;
+    }
+
+    private static int toMask(Collection<Approval.ApprovalLevel> levels) {
+        int mask = 0;
+        for (Approval.ApprovalLevel level : levels) {
+            mask |= level.bit();
+        }
+        return mask;
+    }
+
+    private record CompiledRule(BigDecimal maxAmount, int mask) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.los.loan.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Port to the bank (or payment switch) that actually moves disbursement funds.
+ * Implementations are called outside any database transaction and may block.
+ */
+public interface BankTransferGateway {
+
+    /**
+     * Execute a transfer and return the bank's reference for it.
+     * The disbursement id is the idempotency key: repeating a call for the same id must not move funds twice.
+     * Throws {@link com.los.loan.exception.BankTransferException} when the transfer did not go through;
+     * the disbursement pipeline treats that as retryable.
+     */
+    String transfer(Long disbursementId, BigDecimal amount, String bankCode, String accountNumber, String accountName);
+}
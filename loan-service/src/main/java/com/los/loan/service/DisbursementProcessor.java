@@ -0,0 +1,186 @@
+package com.los.loan.service;
+
+import com.los.loan.entity.Disbursement;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives disbursements through PENDING -> PROCESSING -> COMPLETED/FAILED.
+ * A scheduled dispatcher claims only as many rows as the bounded worker pool can accept,
+ * so a burst of requests queues up in the table instead of in memory.
+ */
+@Slf4j
+@Component
+public class DisbursementProcessor {
+
+    private final DisbursementService disbursementService;
+    private final BankTransferGateway bankTransferGateway;
+    private final SpkGenerator spkGenerator;
+    private final ThreadPoolExecutor workers;
+
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration processingLease;
+
+    private final Timer queueTimer;
+    private final Timer transferTimer;
+    private final Timer settleTimer;
+    private final Timer endToEndTimer;
+    private final Counter completedCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public DisbursementProcessor(
+            DisbursementService disbursementService,
+            BankTransferGateway bankTransferGateway,
+            SpkGenerator spkGenerator,
+            MeterRegistry meterRegistry,
+            @Value("${loan.disbursement.worker-threads:8}") int workerThreads,
+            @Value("${loan.disbursement.queue-capacity:64}") int queueCapacity,
+            @Value("${loan.disbursement.max-attempts:5}") int maxAttempts,
+            @Value("${loan.disbursement.retry-backoff-ms:2000}") long retryBackoffMs,
+            @Value("${loan.disbursement.processing-lease-ms:300000}") long processingLeaseMs) {
+        this.disbursementService = disbursementService;
+        this.bankTransferGateway = bankTransferGateway;
+        this.spkGenerator = spkGenerator;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.processingLease = Duration.ofMillis(processingLeaseMs);
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+                workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "disbursement-worker-" + threadCounter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueTimer = stageTimer(meterRegistry, "queue");
+        this.transferTimer = stageTimer(meterRegistry, "transfer");
+        this.settleTimer = stageTimer(meterRegistry, "settle");
+        this.endToEndTimer = Timer.builder("los.disbursement.end_to_end")
+                .description("Time from disbursement request to completed transfer")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.completedCounter = outcomeCounter(meterRegistry, "completed");
+        this.retriedCounter = outcomeCounter(meterRegistry, "retried");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+
+        Gauge.builder("los.disbursement.workers.queued", workers, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("los.disbursement.workers.active", workers, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${loan.disbursement.poll-interval-ms:500}")
+    public void dispatch() {
+        int capacity = workers.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+
+        List<Disbursement> claimed = disbursementService.claimDue(capacity);
+        LocalDateTime now = LocalDateTime.now();
+        for (Disbursement disbursement : claimed) {
+            LocalDateTime enqueuedAt = disbursement.getNextAttemptAt() != null
+                    ? disbursement.getNextAttemptAt() : disbursement.getCreatedAt();
+            queueTimer.record(Duration.between(enqueuedAt, now));
+            try {
+                workers.execute(() -> process(disbursement));
+            } catch (RejectedExecutionException e) {
+                log.warn("Worker pool saturated, releasing disbursement {}", disbursement.getId());
+                disbursementService.release(disbursement.getId());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${loan.disbursement.recovery-interval-ms:60000}")
+    public void recoverStale() {
+        int released = disbursementService.releaseStale(processingLease);
+        if (released > 0) {
+            log.warn("Released {} disbursements stuck in PROCESSING beyond {}", released, processingLease);
+        }
+    }
+
+    private void process(Disbursement disbursement) {
+        Long id = disbursement.getId();
+        String reference;
+        long transferStart = System.nanoTime();
+        try {
+            reference = bankTransferGateway.transfer(id, disbursement.getAmount(),
+                    disbursement.getBankCode(), disbursement.getAccountNumber(), disbursement.getAccountName());
+        } catch (RuntimeException e) {
+            transferTimer.record(System.nanoTime() - transferStart, TimeUnit.NANOSECONDS);
+            handleFailure(id, e.getMessage());
+            return;
+        }
+        transferTimer.record(System.nanoTime() - transferStart, TimeUnit.NANOSECONDS);
+
+        try {
+            settleTimer.record(() -> disbursementService.complete(id, reference));
+            completedCounter.increment();
+            endToEndTimer.record(Duration.between(disbursement.getCreatedAt(), LocalDateTime.now()));
+            spkGenerator.submit(id);
+        } catch (RuntimeException e) {
+            // Leave the row in PROCESSING; lease expiry re-queues it and the gateway
+            // deduplicates on the disbursement id, so the retry does not move funds twice.
+            log.error("Failed to settle disbursement {} (transfer reference {})", id, reference, e);
+        }
+    }
+
+    private void handleFailure(Long id, String reason) {
+        try {
+            DisbursementService.Outcome outcome =
+                    disbursementService.recordFailure(id, reason, maxAttempts, retryBackoff);
+            if (outcome == DisbursementService.Outcome.FAILED) {
+                failedCounter.increment();
+            } else {
+                retriedCounter.increment();
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to record failure for disbursement {}", id, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    private static Timer stageTimer(MeterRegistry registry, String stage) {
+        return Timer.builder("los.disbursement.stage")
+                .description("Latency of each disbursement pipeline stage")
+                .tag("stage", stage)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("los.disbursement.processed")
+                .description("Disbursement attempts by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,124 @@
+package com.los.loan.service;
+
+import com.los.loan.entity.Disbursement;
+import com.los.loan.entity.Loan;
+import com.los.loan.repository.DisbursementRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Short, self-contained transactions for each disbursement pipeline stage.
+ * The bank call itself happens between these steps, never inside one.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DisbursementService {
+
+    private final DisbursementRepository disbursementRepository;
+    private final OutboxService outboxService;
+
+    public enum Outcome {
+        COMPLETED,
+        RETRY_SCHEDULED,
+        FAILED
+    }
+
+    /**
+     * Lock up to {@code limit} due PENDING rows, mark them PROCESSING and return them.
+     * SKIP LOCKED lets several loan-service instances poll the same table without double-claiming.
+     */
+    @Transactional
+    public List<Disbursement> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Disbursement> due = disbursementRepository.lockDuePending(now, limit);
+        for (Disbursement disbursement : due) {
+            disbursement.setStatus(Disbursement.DisbursementStatus.PROCESSING);
+            disbursement.setProcessingStartedAt(now);
+            disbursement.setAttempts(disbursement.getAttempts() + 1);
+        }
+        return due;
+    }
+
+    /**
+     * Give claimed rows back to the queue, e.g. when the worker pool refused them.
+     */
+    @Transactional
+    public void release(Long disbursementId) {
+        disbursementRepository.findById(disbursementId).ifPresent(disbursement -> {
+            disbursement.setStatus(Disbursement.DisbursementStatus.PENDING);
+            disbursement.setProcessingStartedAt(null);
+            disbursement.setAttempts(disbursement.getAttempts() - 1);
+        });
+    }
+
+    @Transactional
+    public int releaseStale(Duration lease) {
+        return disbursementRepository.releaseStaleProcessing(LocalDateTime.now().minus(lease));
+    }
+
+    @Transactional
+    public void complete(Long disbursementId, String transferReference) {
+        Disbursement disbursement = disbursementRepository.findById(disbursementId)
+                .orElseThrow(() -> new RuntimeException("Disbursement not found"));
+
+        LocalDateTime now = LocalDateTime.now();
+        disbursement.setStatus(Disbursement.DisbursementStatus.COMPLETED);
+        disbursement.setTransferReference(transferReference);
+        disbursement.setFailureReason(null);
+        disbursement.setDisbursedAt(now);
+
+        Loan loan = disbursement.getLoan();
+        loan.setStatus(Loan.LoanStatus.DISBURSED);
+        loan.setDisbursedAt(now);
+
+        outboxService.publish(OutboxService.DISBURSEMENT_TOPIC, loan.getId(), "LOAN_DISBURSED:" + loan.getId());
+        log.info("Disbursement completed for loan: {}", loan.getId());
+    }
+
+    @Transactional
+    public void recordSpk(Long disbursementId, String spkFilePath) {
+        disbursementRepository.updateSpkFilePath(disbursementId, spkFilePath);
+    }
+
+    /**
+     * Record a failed transfer attempt. Schedules a retry with exponential backoff
+     * until {@code maxAttempts} is reached, after which the row is parked as FAILED.
+     */
+    @Transactional
+    public Outcome recordFailure(Long disbursementId, String reason, int maxAttempts, Duration baseBackoff) {
+        Disbursement disbursement = disbursementRepository.findById(disbursementId)
+                .orElseThrow(() -> new RuntimeException("Disbursement not found"));
+
+        disbursement.setFailureReason(truncate(reason));
+        disbursement.setProcessingStartedAt(null);
+
+        int attempts = disbursement.getAttempts();
+        Long loanId = disbursement.getLoan().getId();
+        if (attempts >= maxAttempts) {
+            disbursement.setStatus(Disbursement.DisbursementStatus.FAILED);
+            outboxService.publish(OutboxService.DISBURSEMENT_TOPIC, loanId, "LOAN_DISBURSEMENT_FAILED:" + loanId);
+            log.error("Disbursement for loan {} failed after {} attempts: {}", loanId, attempts, reason);
+            return Outcome.FAILED;
+        }
+
+        Duration backoff = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 10));
+        disbursement.setStatus(Disbursement.DisbursementStatus.PENDING);
+        disbursement.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        log.warn("Disbursement attempt {} for loan {} failed, retrying in {}: {}", attempts, loanId, backoff, reason);
+        return Outcome.RETRY_SCHEDULED;
+    }
+
+    private String truncate(String reason) {
+        if (reason == null) {
+            return null;
+        }
+        return reason.length() > 500 ? reason.substring(0, 500) : reason;
+    }
+}
@@ -1,18 +1,28 @@
 package com.los.loan.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.los.loan.dto.*;
 import com.los.loan.entity.*;
+import com.los.loan.event.CreditCheckedEvent;
+import com.los.loan.event.LoanAppliedEvent;
 import com.los.loan.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -20,83 +30,154 @@ import java.util.List;
 public class LoanService {
 
     private final LoanRepository loanRepository;
-    private final LoanProductRepository productRepository;
+    private final ProductCatalog productCatalog;
+    private final AmortizationEngine amortizationEngine;
+    private final ApprovalWorkflow approvalWorkflow;
     private final ApprovalRepository approvalRepository;
     private final DisbursementRepository disbursementRepository;
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxService outboxService;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${loan.batch.max-items:5000}")
+    private int maxBatchItems;
+
+    @Value("${loan.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    @Value("${loan.query.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${loan.query.stream-fetch-size:1000}")
+    private int streamFetchSize;
 
     @Transactional
     public LoanResponse applyForLoan(LoanApplicationRequest request) {
         log.info("Processing loan application for customer: {}", request.getCustomerId());
 
         // Validate product exists
-        LoanProduct product = productRepository.findById(request.getProductId())
+        LoanProduct product = productCatalog.findById(request.getProductId())
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
         // Validate amount and tenor
         validateLoanRequest(request, product);
 
-        // Calculate interest and installment
-        BigDecimal interestRate = product.getInterestRate();
-        BigDecimal monthlyRate = interestRate.divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP)
-                .divide(BigDecimal.valueOf(12), 4, RoundingMode.HALF_UP);
-
-        BigDecimal loanAmount = request.getRequestedAmount().subtract(request.getDownPayment());
-        BigDecimal monthlyInstallment = calculateMonthlyInstallment(loanAmount, monthlyRate, request.getTenor());
-        BigDecimal totalPayment = monthlyInstallment.multiply(BigDecimal.valueOf(request.getTenor()));
-
-        // Create loan
-        Loan loan = Loan.builder()
-                .customerId(request.getCustomerId())
-                .product(product)
-                .requestedAmount(request.getRequestedAmount())
-                .approvedAmount(null) // Will be set after approval
-                .tenor(request.getTenor())
-                .downPayment(request.getDownPayment())
-                .interestRate(interestRate)
-                .monthlyInstallment(monthlyInstallment)
-                .totalPayment(totalPayment)
-                .purpose(request.getPurpose())
-                .status(Loan.LoanStatus.PENDING)
-                .build();
+        // Calculate interest and installment, then build the loan
+        Loan loan = buildLoan(request, product);
 
         Loan savedLoan = loanRepository.save(loan);
 
         // Create initial approval records
-        createInitialApprovals(savedLoan);
+        approvalRepository.saveAll(createInitialApprovals(savedLoan));
 
-        // Publish event
-        kafkaTemplate.send("loan-events", "LOAN_APPLIED:" + savedLoan.getId());
+        // Publish event (relayed after commit)
+        outboxService.publishEvent(OutboxService.LOAN_TOPIC, savedLoan.getId(), loanAppliedEvent(savedLoan));
 
         log.info("Loan application created with ID: {}", savedLoan.getId());
         return mapToResponse(savedLoan);
     }
 
+    /**
+     * Bulk variant of {@link #applyForLoan} for partner files.
+     * Items are validated against one product catalog snapshot; valid ones are written in chunks
+     * so Hibernate can JDBC-batch the loan, approval and outbox inserts. Invalid items are
+     * reported per index and do not fail the rest of the batch.
+     */
     @Transactional
+    public LoanBatchResponse applyForLoans(List<LoanApplicationRequest> requests) {
+        if (requests.size() > maxBatchItems) {
+            throw new RuntimeException("Batch exceeds maximum of " + maxBatchItems + " applications");
+        }
+        log.info("Processing batch of {} loan applications", requests.size());
+
+        // One catalog snapshot for the whole batch, even if the catalog reloads meanwhile
+        Map<Long, LoanProduct> products = productCatalog.allById();
+
+        List<LoanBatchResponse.ItemResult> results = new ArrayList<>(requests.size());
+        List<Loan> chunk = new ArrayList<>(batchChunkSize);
+        List<LoanBatchResponse.ItemResult> chunkResults = new ArrayList<>(batchChunkSize);
+        int accepted = 0;
+
+        for (int i = 0; i < requests.size(); i++) {
+            LoanApplicationRequest request = requests.get(i);
+            String error = validateBatchItem(request, products);
+            if (error != null) {
+                results.add(LoanBatchResponse.ItemResult.builder()
+                        .index(i)
+                        .status(LoanBatchResponse.ItemStatus.REJECTED)
+                        .error(error)
+                        .build());
+                continue;
+            }
+
+            LoanBatchResponse.ItemResult result = LoanBatchResponse.ItemResult.builder()
+                    .index(i)
+                    .status(LoanBatchResponse.ItemStatus.CREATED)
+                    .build();
+            results.add(result);
+            chunk.add(buildLoan(request, products.get(request.getProductId())));
+            chunkResults.add(result);
+            accepted++;
+
+            if (chunk.size() == batchChunkSize) {
+                writeBatchChunk(chunk, chunkResults);
+            }
+        }
+        writeBatchChunk(chunk, chunkResults);
+
+        log.info("Loan batch processed: {} accepted, {} rejected", accepted, requests.size() - accepted);
+        return LoanBatchResponse.builder()
+                .total(requests.size())
+                .accepted(accepted)
+                .rejected(requests.size() - accepted)
+                .results(results)
+                .build();
+    }
+
     public LoanResponse approveLoan(Long loanId, ApprovalRequest request) {
         log.info("Processing approval for loan: {} by {}", loanId, request.getApproverRole());
+        // Approvers racing on the same loan lose on the version check and re-apply their bit
+        return retryExecutor.execute("approve", () -> applyApproval(loanId, request));
+    }
 
+    private LoanResponse applyApproval(Long loanId, ApprovalRequest request) {
         Loan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new RuntimeException("Loan not found"));
 
+        // A loan the credit check or an approver rejected, or one already approved or disbursed, is
+        // final; re-checked on every retry, so losing a race to such a write fails instead of undoing it
+        if (loan.getStatus() != Loan.LoanStatus.PENDING && loan.getStatus() != Loan.LoanStatus.UNDER_REVIEW) {
+            throw new RuntimeException("Loan is " + loan.getStatus() + " and no longer accepts approval decisions");
+        }
+
         Approval approval = approvalRepository.findByLoanIdAndApprovalLevel(loanId, request.getApproverRole())
-                .orElseThrow(() -> new RuntimeException("Approval level not found"));
+                .orElseThrow(() -> new RuntimeException("Approval level not required for this loan"));
 
         approval.setDecision(request.getDecision());
         approval.setNotes(request.getNotes());
         approval.setApproverName(request.getApproverName());
         approvalRepository.save(approval);
 
+        // Track progress on the loan row; completion is a mask comparison, no approval reload
+        int bit = request.getApproverRole().bit();
+        if (request.getDecision() == Approval.ApprovalDecision.APPROVED) {
+            loan.setGrantedApprovals(loan.getGrantedApprovals() | bit);
+        } else {
+            loan.setGrantedApprovals(loan.getGrantedApprovals() & ~bit);
+        }
+
         // Update loan status based on decision
         if (request.getDecision() == Approval.ApprovalDecision.REJECTED) {
             loan.setStatus(Loan.LoanStatus.REJECTED);
             loan.setRemarks(request.getNotes());
-            kafkaTemplate.send("loan-events", "LOAN_REJECTED:" + loanId);
-        } else if (isFullyApproved(loanId)) {
+            outboxService.publish(OutboxService.LOAN_TOPIC, loanId, "LOAN_REJECTED:" + loanId);
+        } else if (loan.getGrantedApprovals().equals(loan.getRequiredApprovals())) {
             loan.setStatus(Loan.LoanStatus.APPROVED);
             loan.setApprovedAmount(loan.getRequestedAmount());
             loan.setApprovedAt(LocalDateTime.now());
-            kafkaTemplate.send("loan-events", "LOAN_APPROVED:" + loanId);
+            outboxService.publish(OutboxService.LOAN_TOPIC, loanId, "LOAN_APPROVED:" + loanId);
         } else {
             loan.setStatus(Loan.LoanStatus.UNDER_REVIEW);
         }
@@ -105,18 +186,28 @@ public class LoanService {
         return mapToResponse(savedLoan);
     }
 
-    @Transactional
-    public void disburseLoan(Long loanId, DisbursementRequest request) {
+    public DisbursementResponse disburseLoan(Long loanId, DisbursementRequest request) {
         log.info("Processing disbursement for loan: {}", loanId);
+        return retryExecutor.execute("disburse", () -> queueDisbursement(loanId, request));
+    }
 
-        Loan loan = loanRepository.findById(loanId)
+    private DisbursementResponse queueDisbursement(Long loanId, DisbursementRequest request) {
+        Loan loan = loanRepository.findByIdForUpdateCheck(loanId)
                 .orElseThrow(() -> new RuntimeException("Loan not found"));
 
         if (loan.getStatus() != Loan.LoanStatus.APPROVED) {
             throw new RuntimeException("Loan must be approved before disbursement");
         }
 
-        // Create disbursement record
+        Disbursement existing = disbursementRepository.findByLoanId(loanId).orElse(null);
+        if (existing != null) {
+            if (existing.getStatus() != Disbursement.DisbursementStatus.FAILED) {
+                throw new RuntimeException("Disbursement already requested for this loan");
+            }
+            return requeueDisbursement(existing, request);
+        }
+
+        // Queue disbursement; DisbursementProcessor performs the transfer asynchronously
         Disbursement disbursement = Disbursement.builder()
                 .loan(loan)
                 .amount(loan.getApprovedAmount().subtract(loan.getDownPayment()))
@@ -125,102 +216,348 @@ public class LoanService {
                 .accountName(request.getAccountName())
                 .bankCode(request.getBankCode())
                 .status(Disbursement.DisbursementStatus.PENDING)
+                .attempts(0)
                 .build();
 
-        disbursementRepository.save(disbursement);
+        Disbursement savedDisbursement = disbursementRepository.save(disbursement);
 
-        // Simulate disbursement processing
-        processDisbursement(disbursement);
+        log.info("Disbursement queued with ID: {}", savedDisbursement.getId());
+        return mapToDisbursementResponse(savedDisbursement);
+    }
+
+    /**
+     * A FAILED disbursement moved no funds, so the same row goes back to the queue with a fresh
+     * attempt budget and the (possibly corrected) account details. Keeping the row keeps the
+     * disbursement id, which is the bank's idempotency key, and the one-per-loan constraint.
+     */
+    private DisbursementResponse requeueDisbursement(Disbursement disbursement, DisbursementRequest request) {
+        disbursement.setDisbursementMethod(request.getDisbursementMethod());
+        disbursement.setAccountNumber(request.getAccountNumber());
+        disbursement.setAccountName(request.getAccountName());
+        disbursement.setBankCode(request.getBankCode());
+        disbursement.setStatus(Disbursement.DisbursementStatus.PENDING);
+        disbursement.setAttempts(0);
+        disbursement.setNextAttemptAt(LocalDateTime.now()); // due now; also where queue latency is measured from
+        disbursement.setProcessingStartedAt(null);
+        disbursement.setFailureReason(null);
+
+        log.info("Failed disbursement {} re-queued for loan {}", disbursement.getId(), disbursement.getLoan().getId());
+        return mapToDisbursementResponse(disbursement);
+    }
+
+    /**
+     * Record an automatic credit check result. Only a PENDING loan is moved: a rejection closes it,
+     * any other scored outcome hands it to the approval chain. Redelivered results are ignored.
+     */
+    public void applyCreditCheck(CreditCheckedEvent event) {
+        retryExecutor.execute("credit-check", () -> recordCreditCheck(event));
+    }
 
-        // Update loan status
-        loan.setStatus(Loan.LoanStatus.DISBURSED);
-        loan.setDisbursedAt(LocalDateTime.now());
-        loanRepository.save(loan);
+    private Loan.LoanStatus recordCreditCheck(CreditCheckedEvent event) {
+        Loan loan = loanRepository.findById(event.getLoanId()).orElse(null);
+        if (loan == null) {
+            log.warn("Credit check result for unknown loan: {}", event.getLoanId());
+            return null;
+        }
+        if (loan.getCreditCheckedAt() != null) {
+            log.debug("Credit check for loan {} already recorded, ignoring duplicate", loan.getId());
+            return loan.getStatus();
+        }
 
-        kafkaTemplate.send("disbursement-events", "LOAN_DISBURSED:" + loanId);
+        loan.setCreditScore(event.getCreditScore());
+        loan.setCreditDecision(event.getDecision());
+        loan.setCreditCheckedAt(event.getCheckedAt() != null ? event.getCheckedAt() : LocalDateTime.now());
+
+        if (loan.getStatus() == Loan.LoanStatus.PENDING) {
+            switch (event.getDecision()) {
+                case "REJECTED" -> {
+                    loan.setStatus(Loan.LoanStatus.REJECTED);
+                    loan.setRemarks(event.getRemarks());
+                    outboxService.publish(OutboxService.LOAN_TOPIC, loan.getId(), "LOAN_REJECTED:" + loan.getId());
+                }
+                case "APPROVED", "REVIEW" -> {
+                    loan.setStatus(Loan.LoanStatus.UNDER_REVIEW);
+                    loan.setRemarks(event.getRemarks());
+                }
+                default -> loan.setRemarks("Automatic credit check failed: " + event.getRemarks());
+            }
+        }
+
+        log.info("Credit check recorded for loan {}: {} (score {}, rules {})",
+                loan.getId(), event.getDecision(), event.getCreditScore(), event.getRuleVersion());
+        return loan.getStatus();
     }
 
+    @Transactional(readOnly = true)
+    public DisbursementResponse getDisbursementByLoanId(Long loanId) {
+        Disbursement disbursement = disbursementRepository.findByLoanId(loanId)
+                .orElseThrow(() -> new RuntimeException("Disbursement not found"));
+        return mapToDisbursementResponse(disbursement);
+    }
+
+    @Transactional(readOnly = true)
     public LoanResponse getLoanById(Long id) {
-        Loan loan = loanRepository.findById(id)
+        return loanRepository.findResponseById(id)
                 .orElseThrow(() -> new RuntimeException("Loan not found"));
-        return mapToResponse(loan);
     }
 
+    @Transactional(readOnly = true)
     public List<LoanResponse> getLoansByCustomerId(Long customerId) {
-        return loanRepository.findByCustomerId(customerId).stream()
-                .map(this::mapToResponse)
-                .toList();
+        return loanRepository.findResponsesByCustomerId(customerId);
+    }
+
+    @Transactional(readOnly = true)
+    public LoanPageResponse getLoans(LoanSearchFilter filter, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            afterCreatedAt = LocalDateTime.parse(parts[0]);
+            afterId = Long.parseLong(parts[1]);
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        List<LoanResponse> rows = loanRepository.findPage(filter, afterCreatedAt, afterId, pageSize + 1);
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            LoanResponse last = rows.get(pageSize - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+
+        return LoanPageResponse.builder()
+                .items(rows)
+                .nextCursor(nextCursor)
+                .build();
     }
 
-    public List<LoanResponse> getAllLoans() {
-        return loanRepository.findAll().stream()
-                .map(this::mapToResponse)
+    /**
+     * Write every matching loan as newline-delimited JSON.
+     * Rows come from a server-side cursor and are written as they arrive, so memory use
+     * does not depend on the result size.
+     */
+    @Transactional(readOnly = true)
+    public void streamLoans(LoanSearchFilter filter, OutputStream out) throws IOException {
+        int written = 0;
+        try (Stream<LoanResponse> rows = loanRepository.streamAll(filter, streamFetchSize)) {
+            Iterator<LoanResponse> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+                if (++written % streamFetchSize == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        log.debug("Streamed {} loans", written);
+    }
+
+    public LoanQuoteResponse quote(LoanQuoteRequest request) {
+        LoanProduct product = productCatalog.findById(request.getProductId())
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+        validateProductRange(request.getRequestedAmount(), request.getTenor(), product);
+
+        BigDecimal principal = request.getRequestedAmount().subtract(request.getDownPayment());
+        BigDecimal installment = amortizationEngine.monthlyInstallment(principal, product.getInterestRate(), request.getTenor());
+        BigDecimal totalPayment = installment.multiply(BigDecimal.valueOf(request.getTenor()));
+
+        return LoanQuoteResponse.builder()
+                .productId(product.getId())
+                .productName(product.getProductName())
+                .principal(principal)
+                .interestRate(product.getInterestRate())
+                .tenor(request.getTenor())
+                .monthlyInstallment(installment)
+                .totalPayment(totalPayment)
+                .totalInterest(totalPayment.subtract(principal))
+                .schedule(request.isIncludeSchedule()
+                        ? amortizationEngine.schedule(principal, product.getInterestRate(), request.getTenor()).toList()
+                        : null)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public ScheduleResponse getSchedule(Long loanId) {
+        Loan loan = loanRepository.findById(loanId)
+                .orElseThrow(() -> new RuntimeException("Loan not found"));
+
+        BigDecimal principal = loan.getRequestedAmount().subtract(loan.getDownPayment());
+        return ScheduleResponse.builder()
+                .loanId(loan.getId())
+                .principal(principal)
+                .interestRate(loan.getInterestRate())
+                .tenor(loan.getTenor())
+                .monthlyInstallment(loan.getMonthlyInstallment())
+                .entries(amortizationEngine.schedule(principal, loan.getInterestRate(), loan.getTenor()).toList())
+                .build();
+    }
+
+    /**
+     * The loan's schedule as a lazy stream: the loan is read up front, entries are computed only as
+     * the caller pulls them, so {@link #writeSchedule} never holds more than one entry.
+     */
+    @Transactional(readOnly = true)
+    public Stream<ScheduleEntry> streamSchedule(Long loanId) {
+        Loan loan = loanRepository.findById(loanId)
+                .orElseThrow(() -> new RuntimeException("Loan not found"));
+
+        BigDecimal principal = loan.getRequestedAmount().subtract(loan.getDownPayment());
+        return amortizationEngine.schedule(principal, loan.getInterestRate(), loan.getTenor());
+    }
+
+    /**
+     * Write schedule entries as newline-delimited JSON as they are produced.
+     */
+    public void writeSchedule(Stream<ScheduleEntry> entries, OutputStream out) throws IOException {
+        Iterator<ScheduleEntry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            out.write(objectMapper.writeValueAsBytes(iterator.next()));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    public List<ProductResponse> getProducts(LoanProduct.ProductType productType) {
+        List<LoanProduct> products = productType != null
+                ? productCatalog.findByProductType(productType)
+                : productCatalog.findActive();
+        return products.stream()
+                .map(this::mapToProductResponse)
                 .toList();
     }
 
     // Helper methods
-    private void validateLoanRequest(LoanApplicationRequest request, LoanProduct product) {
-        if (request.getRequestedAmount().compareTo(product.getMinAmount()) < 0 ||
-            request.getRequestedAmount().compareTo(product.getMaxAmount()) > 0) {
-            throw new RuntimeException("Loan amount out of product range");
-        }
-        if (request.getTenor() < product.getMinTenor() || request.getTenor() > product.getMaxTenor()) {
-            throw new RuntimeException("Tenor out of product range");
+    private String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor", e);
         }
     }
 
-    private BigDecimal calculateMonthlyInstallment(BigDecimal principal, BigDecimal monthlyRate, int tenor) {
-        if (monthlyRate.compareTo(BigDecimal.ZERO) == 0) {
-            return principal.divide(BigDecimal.valueOf(tenor), 2, RoundingMode.HALF_UP);
+    private Loan buildLoan(LoanApplicationRequest request, LoanProduct product) {
+        BigDecimal interestRate = product.getInterestRate();
+        BigDecimal loanAmount = request.getRequestedAmount().subtract(request.getDownPayment());
+        BigDecimal monthlyInstallment = amortizationEngine.monthlyInstallment(loanAmount, interestRate, request.getTenor());
+        BigDecimal totalPayment = monthlyInstallment.multiply(BigDecimal.valueOf(request.getTenor()));
+
+        return Loan.builder()
+                .customerId(request.getCustomerId())
+                .product(product)
+                .requestedAmount(request.getRequestedAmount())
+                .approvedAmount(null) // Will be set after approval
+                .tenor(request.getTenor())
+                .downPayment(request.getDownPayment())
+                .interestRate(interestRate)
+                .monthlyInstallment(monthlyInstallment)
+                .totalPayment(totalPayment)
+                .purpose(request.getPurpose())
+                .monthlyIncome(request.getMonthlyIncome())
+                .existingDebt(request.getExistingDebt())
+                .status(Loan.LoanStatus.PENDING)
+                .requiredApprovals(approvalWorkflow.requiredLevels(product, request.getRequestedAmount()))
+                .grantedApprovals(0)
+                .build();
+    }
+
+    private String validateBatchItem(LoanApplicationRequest request, Map<Long, LoanProduct> products) {
+        if (request == null) {
+            return "Application is empty";
+        }
+        Set<ConstraintViolation<LoanApplicationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
         }
-        
-        BigDecimal numerator = principal.multiply(monthlyRate);
-        BigDecimal denominator = BigDecimal.ONE.subtract(
-                BigDecimal.ONE.divide(
-                        BigDecimal.ONE.add(monthlyRate).pow(tenor), 10, RoundingMode.HALF_UP
-                )
-        );
-        return numerator.divide(denominator, 2, RoundingMode.HALF_UP);
+        LoanProduct product = products.get(request.getProductId());
+        if (product == null) {
+            return "Product not found";
+        }
+        try {
+            validateLoanRequest(request, product);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+        return null;
     }
 
-    private void createInitialApprovals(Loan loan) {
-        for (Approval.ApprovalLevel level : Approval.ApprovalLevel.values()) {
-            Approval approval = Approval.builder()
-                    .loan(loan)
-                    .approvalLevel(level)
-                    .decision(Approval.ApprovalDecision.PENDING)
-                    .build();
-            approvalRepository.save(approval);
+    private void writeBatchChunk(List<Loan> loans, List<LoanBatchResponse.ItemResult> results) {
+        if (loans.isEmpty()) {
+            return;
+        }
+
+        // Sequence ids are assigned on persist, so approvals and events can reference them before the flush
+        loanRepository.saveAll(loans);
+        List<Approval> approvals = new ArrayList<>(loans.size() * Approval.ApprovalLevel.values().length);
+        for (Loan loan : loans) {
+            approvals.addAll(createInitialApprovals(loan));
+            outboxService.publishEvent(OutboxService.LOAN_TOPIC, loan.getId(), loanAppliedEvent(loan));
+        }
+        approvalRepository.saveAll(approvals);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        for (int i = 0; i < loans.size(); i++) {
+            results.get(i).setLoanId(loans.get(i).getId());
         }
+        loans.clear();
+        results.clear();
     }
 
-    private boolean isFullyApproved(Long loanId) {
-        List<Approval> approvals = approvalRepository.findByLoanId(loanId);
-        return approvals.stream()
-                .allMatch(a -> a.getDecision() == Approval.ApprovalDecision.APPROVED);
+    private void validateLoanRequest(LoanApplicationRequest request, LoanProduct product) {
+        validateProductRange(request.getRequestedAmount(), request.getTenor(), product);
     }
 
-    private void processDisbursement(Disbursement disbursement) {
-        // Simulate disbursement processing
-        try {
-            Thread.sleep(1000); // Simulate processing delay
-            disbursement.setStatus(Disbursement.DisbursementStatus.COMPLETED);
-            disbursement.setDisbursedAt(LocalDateTime.now());
-            disbursementRepository.save(disbursement);
-            log.info("Disbursement completed for loan: {}", disbursement.getLoan().getId());
-        } catch (InterruptedException e) {
-            disbursement.setStatus(Disbursement.DisbursementStatus.FAILED);
-            disbursementRepository.save(disbursement);
-            log.error("Disbursement failed", e);
+    private void validateProductRange(BigDecimal requestedAmount, int tenor, LoanProduct product) {
+        if (requestedAmount.compareTo(product.getMinAmount()) < 0 ||
+            requestedAmount.compareTo(product.getMaxAmount()) > 0) {
+            throw new RuntimeException("Loan amount out of product range");
+        }
+        if (tenor < product.getMinTenor() || tenor > product.getMaxTenor()) {
+            throw new RuntimeException("Tenor out of product range");
         }
     }
 
+    private List<Approval> createInitialApprovals(Loan loan) {
+        List<Approval.ApprovalLevel> levels = ApprovalWorkflow.levelsOf(loan.getRequiredApprovals());
+        List<Approval> approvals = new ArrayList<>(levels.size());
+        for (Approval.ApprovalLevel level : levels) {
+            approvals.add(Approval.builder()
+                    .loan(loan)
+                    .approvalLevel(level)
+                    .decision(Approval.ApprovalDecision.PENDING)
+                    .build());
+        }
+        return approvals;
+    }
+
     private LoanResponse mapToResponse(Loan loan) {
+        // getId() does not initialize the lazy product proxy; the name comes from the in-memory catalog
+        Long productId = loan.getProduct().getId();
+        String productName = productCatalog.findById(productId)
+                .map(LoanProduct::getProductName)
+                .orElse(null);
         return LoanResponse.builder()
                 .id(loan.getId())
                 .customerId(loan.getCustomerId())
-                .productId(loan.getProduct().getId())
-                .productName(loan.getProduct().getProductName())
+                .productId(productId)
+                .productName(productName)
                 .requestedAmount(loan.getRequestedAmount())
                 .approvedAmount(loan.getApprovedAmount())
                 .tenor(loan.getTenor())
@@ -236,4 +573,52 @@ public class LoanService {
                 .disbursedAt(loan.getDisbursedAt())
                 .build();
     }
+
+    private LoanAppliedEvent loanAppliedEvent(Loan loan) {
+        return LoanAppliedEvent.builder()
+                .eventType(LoanAppliedEvent.TYPE)
+                .loanId(loan.getId())
+                .customerId(loan.getCustomerId())
+                .productId(loan.getProduct().getId())
+                .requestedAmount(loan.getRequestedAmount())
+                .downPayment(loan.getDownPayment())
+                .tenor(loan.getTenor())
+                .interestRate(loan.getInterestRate())
+                .monthlyIncome(loan.getMonthlyIncome())
+                .existingDebt(loan.getExistingDebt())
+                .appliedAt(loan.getCreatedAt())
+                .build();
+    }
+
+    private DisbursementResponse mapToDisbursementResponse(Disbursement disbursement) {
+        return DisbursementResponse.builder()
+                .id(disbursement.getId())
+                .loanId(disbursement.getLoan().getId())
+                .amount(disbursement.getAmount())
+                .disbursementMethod(disbursement.getDisbursementMethod())
+                .bankCode(disbursement.getBankCode())
+                .status(disbursement.getStatus())
+                .attempts(disbursement.getAttempts())
+                .transferReference(disbursement.getTransferReference())
+                .failureReason(disbursement.getFailureReason())
+                .createdAt(disbursement.getCreatedAt())
+                .nextAttemptAt(disbursement.getNextAttemptAt())
+                .disbursedAt(disbursement.getDisbursedAt())
+                .build();
+    }
+
+    private ProductResponse mapToProductResponse(LoanProduct product) {
+        return ProductResponse.builder()
+                .id(product.getId())
+                .productName(product.getProductName())
+                .description(product.getDescription())
+                .productType(product.getProductType())
+                .minAmount(product.getMinAmount())
+                .maxAmount(product.getMaxAmount())
+                .minTenor(product.getMinTenor())
+                .maxTenor(product.getMaxTenor())
+                .interestRate(product.getInterestRate())
+                .isActive(product.getIsActive())
+                .build();
+    }
 }
@@ -0,0 +1,58 @@
+package com.los.loan.service;
+
+import com.los.loan.exception.BankTransferException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for the bank integration.
+ * Simulates network latency and an optional failure rate so the retry path can be exercised.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "loan.disbursement.bank-gateway", havingValue = "local", matchIfMissing = true)
+public class LocalBankTransferGateway implements BankTransferGateway {
+
+    private final long latencyMs;
+    private final double failureRate;
+    private final Map<Long, String> completedTransfers = new ConcurrentHashMap<>();
+
+    public LocalBankTransferGateway(
+            @Value("${loan.disbursement.local-gateway.latency-ms:1000}") long latencyMs,
+            @Value("${loan.disbursement.local-gateway.failure-rate:0.0}") double failureRate) {
+        this.latencyMs = latencyMs;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public String transfer(Long disbursementId, BigDecimal amount, String bankCode, String accountNumber, String accountName) {
+        String previous = completedTransfers.get(disbursementId);
+        if (previous != null) {
+            return previous;
+        }
+
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BankTransferException("Transfer interrupted", e);
+        }
+
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new BankTransferException("Simulated bank rejection for disbursement " + disbursementId);
+        }
+
+        String reference = "LOCAL-" + UUID.randomUUID();
+        completedTransfers.put(disbursementId, reference);
+        log.debug("Simulated transfer of {} to {}/{} -> {}", amount, bankCode, accountNumber, reference);
+        return reference;
+    }
+}
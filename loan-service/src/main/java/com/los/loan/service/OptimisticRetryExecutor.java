@@ -0,0 +1,74 @@
+package com.los.loan.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and re-runs it when the commit loses an
+ * optimistic-lock race on a {@code @Version} column. Each attempt re-reads current state,
+ * so concurrent approvers converge without row locks on the hot path.
+ * Must be called outside an existing transaction, otherwise retries would reuse the failed one.
+ */
+@Slf4j
+@Component
+public class OptimisticRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    public OptimisticRetryExecutor(
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${loan.concurrency.max-attempts:5}") int maxAttempts,
+            @Value("${loan.concurrency.backoff-ms:20}") long backoffMs) {
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        counter("los.optimistic.executions", operation).increment();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                counter("los.optimistic.conflicts", operation).increment();
+                if (attempt >= maxAttempts) {
+                    counter("los.optimistic.exhausted", operation).increment();
+                    log.warn("{} still conflicting after {} attempts", operation, attempt);
+                    throw new RuntimeException("Concurrent update conflict, please retry", e);
+                }
+                log.debug("{} hit a version conflict (attempt {}), retrying", operation, attempt);
+                pause(attempt);
+            }
+        }
+    }
+
+    private void pause(int attempt) {
+        // Jittered linear backoff keeps colliding approvers from retrying in lockstep
+        long sleep = backoffMs * attempt + ThreadLocalRandom.current().nextLong(backoffMs + 1);
+        try {
+            Thread.sleep(sleep);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying", e);
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
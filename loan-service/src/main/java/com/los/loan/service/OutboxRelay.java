@@ -0,0 +1,127 @@
+package com.los.loan.service;
+
+import com.los.loan.entity.OutboxEvent;
+import com.los.loan.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox table to Kafka.
+ * Each cycle locks a batch with SKIP LOCKED, fires all sends without waiting in between
+ * (the producer pipelines them), then awaits the acks once and deletes what was delivered.
+ * Undelivered rows stay locked until the transaction ends and are retried on the next cycle.
+ * <p>
+ * A batch holds only the oldest pending event of each loan, so events of one loan are sent one
+ * cycle after another, in the order their transactions committed, however many relays run.
+ * A loan whose event keeps failing stalls only that loan.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final long sendTimeoutMs;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer relayLagTimer;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final AtomicLong oldestPendingAgeMs = new AtomicLong();
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            KafkaTemplate<String, String> kafkaTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${loan.outbox.batch-size:500}") int batchSize,
+            @Value("${loan.outbox.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+
+        this.batchSizeSummary = DistributionSummary.builder("los.outbox.relay.batch_size")
+                .description("Events locked per relay cycle")
+                .register(meterRegistry);
+        this.relayLagTimer = Timer.builder("los.outbox.relay.lag")
+                .description("Time from outbox insert to broker acknowledgement")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("los.outbox.relay.published").register(meterRegistry);
+        this.failedCounter = Counter.builder("los.outbox.relay.failed").register(meterRegistry);
+        Gauge.builder("los.outbox.relay.oldest_pending_age_ms", oldestPendingAgeMs, AtomicLong::get)
+                .description("Age of the oldest event seen in the last relay cycle")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${loan.outbox.poll-interval-ms:200}")
+    public void relay() {
+        Integer delivered;
+        do {
+            delivered = transactionTemplate.execute(status -> relayBatch());
+        } while (delivered != null && delivered > 0); // a short batch may still leave later events of its loans
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockBatch(batchSize);
+        if (events.isEmpty()) {
+            oldestPendingAgeMs.set(0);
+            return 0;
+        }
+
+        batchSizeSummary.record(events.size());
+        oldestPendingAgeMs.set(Duration.between(events.get(0).getCreatedAt(), LocalDateTime.now()).toMillis());
+
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            sends.add(kafkaTemplate.send(event.getTopic(), event.getEventKey(), event.getPayload()));
+        }
+        kafkaTemplate.flush();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        List<Long> deliveredIds = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                deliveredIds.add(event.getId());
+                relayLagTimer.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                failedCounter.increment();
+                log.warn("Failed to publish outbox event {} to {}: {}", event.getId(), event.getTopic(), e.getMessage());
+            }
+        }
+
+        outboxEventRepository.deleteAllByIdInBatch(deliveredIds);
+        publishedCounter.increment(deliveredIds.size());
+
+        // Stop draining on any failure so the broker gets a poll interval to recover
+        return deliveredIds.size() == events.size() ? deliveredIds.size() : 0;
+    }
+}
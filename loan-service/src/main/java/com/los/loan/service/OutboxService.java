@@ -0,0 +1,48 @@
+package com.los.loan.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.los.loan.entity.OutboxEvent;
+import com.los.loan.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records Kafka events in the outbox table as part of the caller's transaction.
+ * {@link OutboxRelay} publishes them after commit, so a rolled-back transaction never emits an event.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    public static final String LOAN_TOPIC = "loan-events";
+    public static final String DISBURSEMENT_TOPIC = "disbursement-events";
+    public static final String CREDIT_TOPIC = "credit-events";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String topic, Long loanId, String payload) {
+        OutboxEvent event = OutboxEvent.builder()
+                .topic(topic)
+                .eventKey(loanId != null ? loanId.toString() : null)
+                .payload(payload)
+                .build();
+        outboxEventRepository.save(event);
+    }
+
+    /**
+     * Record a structured event, serialized to JSON.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishEvent(String topic, Long loanId, Object event) {
+        try {
+            publish(topic, loanId, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.los.loan.service;
+
+import com.los.loan.entity.LoanProduct;
+import com.los.loan.repository.LoanProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * In-memory view of loan.loan_products.
+ * The whole table is loaded into an immutable snapshot that readers access without locking;
+ * a version poll rebuilds it and swaps the reference when any product row changes.
+ * Products handed out are detached copies shared between threads and must be treated as read-only.
+ */
+@Slf4j
+@Component
+public class ProductCatalog {
+
+    private final LoanProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter reloadCounter;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public ProductCatalog(LoanProductRepository productRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.reloadCounter = Counter.builder("los.product_catalog.reloads").register(meterRegistry);
+        Gauge.builder("los.product_catalog.size", this, c -> c.snapshot.byId.size())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${loan.product-catalog.poll-interval-ms:30000}")
+    public void refreshIfChanged() {
+        String version = currentVersion();
+        if (!version.equals(snapshot.version)) {
+            log.info("Product catalog changed ({} -> {}), reloading", snapshot.version, version);
+            reload();
+        }
+    }
+
+    /**
+     * Force a rebuild, e.g. right after this instance modified a product.
+     */
+    public synchronized void reload() {
+        String version = currentVersion();
+        List<LoanProduct> products = productRepository.findAll().stream()
+                .map(ProductCatalog::copyOf)
+                .toList();
+        snapshot = Snapshot.of(version, products);
+        reloadCounter.increment();
+        log.info("Product catalog loaded: {} products (version {})", products.size(), version);
+        eventPublisher.publishEvent(new ReloadedEvent(version));
+    }
+
+    public Optional<LoanProduct> findById(Long id) {
+        return Optional.ofNullable(snapshot.byId.get(id));
+    }
+
+    public Map<Long, LoanProduct> allById() {
+        return snapshot.byId;
+    }
+
+    public List<LoanProduct> findActive() {
+        return snapshot.active;
+    }
+
+    public List<LoanProduct> findByProductType(LoanProduct.ProductType productType) {
+        return snapshot.byType.getOrDefault(productType, List.of());
+    }
+
+    private String currentVersion() {
+        LoanProductRepository.CatalogVersion v = productRepository.findCatalogVersion();
+        return v.getProductCount() + ":" + v.getVersionSum() + ":" + v.getLastUpdated();
+    }
+
+    /**
+     * Published after every snapshot swap so derived caches can rebuild.
+     */
+    public record ReloadedEvent(String version) {
+    }
+
+    private static LoanProduct copyOf(LoanProduct p) {
+        return LoanProduct.builder()
+                .id(p.getId())
+                .productName(p.getProductName())
+                .description(p.getDescription())
+                .productType(p.getProductType())
+                .minAmount(p.getMinAmount())
+                .maxAmount(p.getMaxAmount())
+                .minTenor(p.getMinTenor())
+                .maxTenor(p.getMaxTenor())
+                .interestRate(p.getInterestRate())
+                .isActive(p.getIsActive())
+                .version(p.getVersion())
+                .createdAt(p.getCreatedAt())
+                .updatedAt(p.getUpdatedAt())
+                .build();
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot("", Map.of(), List.of(), Map.of());
+
+        final String version;
+        final Map<Long, LoanProduct> byId;
+        final List<LoanProduct> active;
+        final Map<LoanProduct.ProductType, List<LoanProduct>> byType;
+
+        private Snapshot(String version, Map<Long, LoanProduct> byId, List<LoanProduct> active,
+                         Map<LoanProduct.ProductType, List<LoanProduct>> byType) {
+            this.version = version;
+            this.byId = byId;
+            this.active = active;
+            this.byType = byType;
+        }
+
+        static Snapshot of(String version, List<LoanProduct> products) {
+            Map<Long, LoanProduct> byId = new HashMap<>();
+            List<LoanProduct> active = new ArrayList<>();
+            Map<LoanProduct.ProductType, List<LoanProduct>> byType = new EnumMap<>(LoanProduct.ProductType.class);
+            for (LoanProduct product : products) {
+                byId.put(product.getId(), product);
+                if (Boolean.TRUE.equals(product.getIsActive())) {
+                    active.add(product);
+                }
+                byType.computeIfAbsent(product.getProductType(), t -> new ArrayList<>()).add(product);
+            }
+            Map<LoanProduct.ProductType, List<LoanProduct>> frozenByType = new EnumMap<>(LoanProduct.ProductType.class);
+            byType.forEach((type, list) -> frozenByType.put(type, List.copyOf(list)));
+            return new Snapshot(version, Map.copyOf(byId), List.copyOf(active), Collections.unmodifiableMap(frozenByType));
+        }
+    }
+}
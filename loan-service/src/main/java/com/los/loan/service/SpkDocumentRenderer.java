@@ -0,0 +1,205 @@
+package com.los.loan.service;
+
+import com.itextpdf.text.*;
+import com.itextpdf.text.pdf.*;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Renders SPK (Surat Perjanjian Kredit) loan agreements.
+ * The page layout is built once at startup into an AcroForm template; each document
+ * only stamps field values onto a copy of it and flattens the form.
+ */
+@Component
+public class SpkDocumentRenderer {
+
+    private static final Locale ID_LOCALE = Locale.forLanguageTag("id-ID");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMMM yyyy", ID_LOCALE);
+    private static final DateTimeFormatter NUMBER_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final String[][] FIELDS = {
+            {"spkNumber", "Nomor SPK"},
+            {"agreementDate", "Tanggal Perjanjian"},
+            {"loanId", "Nomor Pinjaman"},
+            {"customerId", "Nomor Nasabah"},
+            {"productName", "Produk"},
+            {"approvedAmount", "Plafon Disetujui"},
+            {"downPayment", "Uang Muka"},
+            {"disbursedAmount", "Jumlah Pencairan"},
+            {"tenor", "Jangka Waktu"},
+            {"interestRate", "Suku Bunga per Tahun"},
+            {"monthlyInstallment", "Angsuran per Bulan"},
+            {"totalPayment", "Total Pembayaran"},
+            {"bankCode", "Kode Bank"},
+            {"accountNumber", "Nomor Rekening"},
+            {"accountName", "Nama Pemilik Rekening"},
+            {"transferReference", "Referensi Transfer"}
+    };
+
+    private static final String[] CLAUSES = {
+            "1. Debitur mengakui telah menerima fasilitas pinjaman dengan jumlah dan ketentuan sebagaimana tercantum di atas.",
+            "2. Debitur wajib membayar angsuran setiap bulan sesuai jadwal angsuran yang diterbitkan oleh Kreditur.",
+            "3. Keterlambatan pembayaran angsuran dikenakan denda sesuai ketentuan yang berlaku pada Kreditur.",
+            "4. Perjanjian ini berlaku sejak tanggal pencairan sampai seluruh kewajiban Debitur dinyatakan lunas."
+    };
+
+    private final byte[] template;
+
+    public SpkDocumentRenderer() {
+        this.template = compileTemplate();
+    }
+
+    public record SpkData(
+            Long disbursementId,
+            Long loanId,
+            Long customerId,
+            String productName,
+            BigDecimal approvedAmount,
+            BigDecimal downPayment,
+            BigDecimal disbursedAmount,
+            Integer tenor,
+            BigDecimal interestRate,
+            BigDecimal monthlyInstallment,
+            BigDecimal totalPayment,
+            String bankCode,
+            String accountNumber,
+            String accountName,
+            String transferReference,
+            LocalDateTime disbursedAt) {
+    }
+
+    public static String spkNumber(SpkData data) {
+        return "SPK-" + data.disbursedAt().format(NUMBER_DATE_FORMAT) + "-" + data.loanId();
+    }
+
+    /**
+     * Fill the template for one disbursement and write the flattened PDF to {@code out}.
+     * Safe to call concurrently; the shared template bytes are never mutated.
+     */
+    public void render(SpkData data, OutputStream out) throws IOException {
+        PdfReader reader = new PdfReader(template);
+        try {
+            PdfStamper stamper = new PdfStamper(reader, out);
+            AcroFields form = stamper.getAcroFields();
+            form.setField("spkNumber", spkNumber(data));
+            form.setField("agreementDate", data.disbursedAt().format(DATE_FORMAT));
+            form.setField("loanId", String.valueOf(data.loanId()));
+            form.setField("customerId", String.valueOf(data.customerId()));
+            form.setField("productName", text(data.productName()));
+            form.setField("approvedAmount", money(data.approvedAmount()));
+            form.setField("downPayment", money(data.downPayment()));
+            form.setField("disbursedAmount", money(data.disbursedAmount()));
+            form.setField("tenor", data.tenor() + " bulan");
+            form.setField("interestRate", data.interestRate() + " %");
+            form.setField("monthlyInstallment", money(data.monthlyInstallment()));
+            form.setField("totalPayment", money(data.totalPayment()));
+            form.setField("bankCode", text(data.bankCode()));
+            form.setField("accountNumber", text(data.accountNumber()));
+            form.setField("accountName", text(data.accountName()));
+            form.setField("transferReference", text(data.transferReference()));
+            stamper.setFormFlattening(true);
+            stamper.close();
+        } catch (DocumentException e) {
+            throw new IOException("Failed to render SPK for loan " + data.loanId(), e);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static byte[] compileTemplate() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Document document = new Document(PageSize.A4, 56, 56, 56, 56);
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, buffer);
+            document.open();
+
+            Font titleFont = new Font(Font.FontFamily.HELVETICA, 14, Font.BOLD);
+            Font labelFont = new Font(Font.FontFamily.HELVETICA, 10);
+            Font bodyFont = new Font(Font.FontFamily.HELVETICA, 9);
+
+            Paragraph title = new Paragraph("SURAT PERJANJIAN KREDIT", titleFont);
+            title.setAlignment(Element.ALIGN_CENTER);
+            title.setSpacingAfter(20);
+            document.add(title);
+
+            PdfPTable table = new PdfPTable(new float[]{2, 3});
+            table.setWidthPercentage(100);
+            for (String[] field : FIELDS) {
+                PdfPCell label = new PdfPCell(new Phrase(field[1], labelFont));
+                label.setBorder(Rectangle.NO_BORDER);
+                label.setFixedHeight(20);
+                table.addCell(label);
+
+                PdfPCell value = new PdfPCell();
+                value.setBorder(Rectangle.BOTTOM);
+                value.setFixedHeight(20);
+                value.setCellEvent(new FormField(writer, field[0]));
+                table.addCell(value);
+            }
+            document.add(table);
+
+            Paragraph clauses = new Paragraph();
+            clauses.setSpacingBefore(20);
+            for (String clause : CLAUSES) {
+                clauses.add(new Phrase(clause + "\n", bodyFont));
+            }
+            document.add(clauses);
+
+            PdfPTable signatures = new PdfPTable(2);
+            signatures.setWidthPercentage(100);
+            signatures.setSpacingBefore(40);
+            for (String party : new String[]{"Kreditur", "Debitur"}) {
+                PdfPCell cell = new PdfPCell(new Phrase(party + "\n\n\n\n(____________________)", labelFont));
+                cell.setBorder(Rectangle.NO_BORDER);
+                cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+                signatures.addCell(cell);
+            }
+            document.add(signatures);
+        } catch (DocumentException e) {
+            throw new IllegalStateException("Failed to compile SPK template", e);
+        } finally {
+            document.close();
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String money(BigDecimal amount) {
+        return amount == null ? "-" : String.format(ID_LOCALE, "Rp %,.2f", amount);
+    }
+
+    private static String text(String value) {
+        return value == null ? "-" : value;
+    }
+
+    /**
+     * Places a named text field over the cell it is attached to.
+     */
+    private static final class FormField implements PdfPCellEvent {
+
+        private final PdfWriter writer;
+        private final String name;
+
+        private FormField(PdfWriter writer, String name) {
+            this.writer = writer;
+            this.name = name;
+        }
+
+        @Override
+        public void cellLayout(PdfPCell cell, Rectangle position, PdfContentByte[] canvases) {
+            TextField field = new TextField(writer, position, name);
+            field.setFontSize(10);
+            try {
+                writer.addAnnotation(field.getTextField());
+            } catch (IOException | DocumentException e) {
+                throw new ExceptionConverter(e);
+            }
+        }
+    }
+}
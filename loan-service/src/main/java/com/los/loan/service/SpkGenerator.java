@@ -0,0 +1,247 @@
+package com.los.loan.service;
+
+import com.los.loan.dto.SpkBatchResponse;
+import com.los.loan.entity.Disbursement;
+import com.los.loan.entity.Loan;
+import com.los.loan.entity.LoanProduct;
+import com.los.loan.repository.DisbursementRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates SPK documents for completed disbursements on a bounded render pool.
+ * Files land in a date/hash sharded tree under {@code loan.spk.base-dir} so no directory
+ * grows unbounded. A disbursement that could not be queued is picked up by the daily batch.
+ */
+@Slf4j
+@Component
+public class SpkGenerator {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final DisbursementRepository disbursementRepository;
+    private final DisbursementService disbursementService;
+    private final ProductCatalog productCatalog;
+    private final SpkDocumentRenderer renderer;
+    private final Path baseDir;
+    private final ThreadPoolExecutor renderers;
+
+    private final Timer renderTimer;
+    private final Timer batchTimer;
+    private final Counter generatedCounter;
+    private final Counter failedCounter;
+    private final Counter deferredCounter;
+
+    public SpkGenerator(
+            DisbursementRepository disbursementRepository,
+            DisbursementService disbursementService,
+            ProductCatalog productCatalog,
+            SpkDocumentRenderer renderer,
+            MeterRegistry meterRegistry,
+            @Value("${loan.spk.base-dir:storage/spk}") String baseDir,
+            @Value("${loan.spk.render-threads:0}") int renderThreads,
+            @Value("${loan.spk.queue-capacity:256}") int queueCapacity) {
+        this.disbursementRepository = disbursementRepository;
+        this.disbursementService = disbursementService;
+        this.productCatalog = productCatalog;
+        this.renderer = renderer;
+        this.baseDir = Paths.get(baseDir);
+
+        int threads = renderThreads > 0 ? renderThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.renderers = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "spk-renderer-" + threadCounter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.renderTimer = Timer.builder("los.spk.render")
+                .description("Time to render and store one SPK document")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("los.spk.batch")
+                .description("Time to render all SPK documents for one day")
+                .register(meterRegistry);
+        this.generatedCounter = outcomeCounter(meterRegistry, "generated");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+        this.deferredCounter = outcomeCounter(meterRegistry, "deferred");
+
+        Gauge.builder("los.spk.renderers.queued", renderers, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue SPK generation for a just-completed disbursement without blocking the caller.
+     */
+    public void submit(Long disbursementId) {
+        try {
+            renderers.execute(() -> disbursementRepository.findWithLoanById(disbursementId)
+                    .filter(d -> d.getStatus() == Disbursement.DisbursementStatus.COMPLETED)
+                    .filter(d -> d.getSpkFilePath() == null)
+                    .map(this::toData)
+                    .ifPresent(this::generate));
+        } catch (RejectedExecutionException e) {
+            deferredCounter.increment();
+            log.warn("SPK render queue full, disbursement {} left for the daily batch", disbursementId);
+        }
+    }
+
+    /**
+     * Render every completed disbursement of {@code date} that has no SPK yet, in parallel.
+     * When the render queue is full the calling thread renders the document itself,
+     * which throttles submission to the pool's pace.
+     */
+    public SpkBatchResponse generateForDate(LocalDate date) {
+        long start = System.nanoTime();
+        List<SpkDocumentRenderer.SpkData> batch = disbursementRepository
+                .findCompletedWithoutSpk(date.atStartOfDay(), date.plusDays(1).atStartOfDay())
+                .stream()
+                .map(this::toData)
+                .toList();
+
+        List<CompletableFuture<Boolean>> results = new ArrayList<>(batch.size());
+        for (SpkDocumentRenderer.SpkData data : batch) {
+            results.add(schedule(data));
+        }
+        int generated = (int) results.stream()
+                .map(CompletableFuture::join)
+                .filter(Boolean::booleanValue)
+                .count();
+
+        long elapsed = System.nanoTime() - start;
+        batchTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Rendered {}/{} SPK documents for {}", generated, batch.size(), date);
+
+        return SpkBatchResponse.builder()
+                .date(date)
+                .candidates(batch.size())
+                .generated(generated)
+                .failed(batch.size() - generated)
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                .build();
+    }
+
+    @Scheduled(cron = "${loan.spk.batch-cron:0 15 0 * * *}")
+    public void renderPreviousDay() {
+        generateForDate(LocalDate.now().minusDays(1));
+    }
+
+    private CompletableFuture<Boolean> schedule(SpkDocumentRenderer.SpkData data) {
+        try {
+            return CompletableFuture.supplyAsync(() -> generate(data), renderers);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(generate(data));
+        }
+    }
+
+    private boolean generate(SpkDocumentRenderer.SpkData data) {
+        long start = System.nanoTime();
+        Path tmp = null;
+        try {
+            Path target = targetPath(data);
+            Files.createDirectories(target.getParent());
+            tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp), WRITE_BUFFER_SIZE)) {
+                renderer.render(data, out);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+
+            disbursementService.recordSpk(data.disbursementId(), target.toString());
+            renderTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            generatedCounter.increment();
+            return true;
+        } catch (IOException | RuntimeException e) {
+            failedCounter.increment();
+            log.error("Failed to generate SPK for disbursement {}", data.disbursementId(), e);
+            return false;
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException e) {
+                    log.warn("Could not remove partial SPK file {}", tmp);
+                }
+            }
+        }
+    }
+
+    // <base>/yyyy/MM/dd/<2 hex of loan id>/SPK-yyyyMMdd-<loanId>.pdf
+    private Path targetPath(SpkDocumentRenderer.SpkData data) {
+        LocalDate day = data.disbursedAt().toLocalDate();
+        String shard = String.format("%02x", data.loanId() & 0xff);
+        return baseDir
+                .resolve(String.valueOf(day.getYear()))
+                .resolve(String.format("%02d", day.getMonthValue()))
+                .resolve(String.format("%02d", day.getDayOfMonth()))
+                .resolve(shard)
+                .resolve(SpkDocumentRenderer.spkNumber(data) + ".pdf");
+    }
+
+    private SpkDocumentRenderer.SpkData toData(Disbursement disbursement) {
+        Loan loan = disbursement.getLoan();
+        String productName = productCatalog.findById(loan.getProduct().getId())
+                .map(LoanProduct::getProductName)
+                .orElse(null);
+        return new SpkDocumentRenderer.SpkData(
+                disbursement.getId(),
+                loan.getId(),
+                loan.getCustomerId(),
+                productName,
+                loan.getApprovedAmount(),
+                loan.getDownPayment(),
+                disbursement.getAmount(),
+                loan.getTenor(),
+                loan.getInterestRate(),
+                loan.getMonthlyInstallment(),
+                loan.getTotalPayment(),
+                disbursement.getBankCode(),
+                disbursement.getAccountNumber(),
+                disbursement.getAccountName(),
+                disbursement.getTransferReference(),
+                disbursement.getDisbursedAt());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        renderers.shutdown();
+        if (!renderers.awaitTermination(30, TimeUnit.SECONDS)) {
+            renderers.shutdownNow();
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("los.spk.documents")
+                .description("SPK documents by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,143 @@
+package com.los.loan.repository;
+
+import com.los.loan.dto.LoanResponse;
+import com.los.loan.dto.LoanSearchFilter;
+import com.los.loan.entity.Loan;
+import com.los.loan.entity.LoanProduct;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the projection read paths against N+1 regressions: each one must run exactly one
+ * statement and materialize no entity, whatever the number of loans and products.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loans;MODE=PostgreSQL;INIT=CREATE SCHEMA IF NOT EXISTS loan",
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class LoanRepositoryStatementCountTest {
+
+    private static final Long CUSTOMER_ID = 7L;
+    private static final int LOANS = 12;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private Statistics statistics;
+    private Long firstLoanId;
+
+    @BeforeEach
+    void setUp() {
+        LoanProduct motor = testEntityManager.persist(product("Kredit Motor", LoanProduct.ProductType.MOTOR));
+        LoanProduct mobil = testEntityManager.persist(product("Kredit Mobil", LoanProduct.ProductType.MOBIL));
+        LoanProduct multiguna = testEntityManager.persist(product("Multiguna", LoanProduct.ProductType.MULTIGUNA));
+        List<LoanProduct> products = List.of(motor, mobil, multiguna);
+        for (int i = 0; i < LOANS; i++) {
+            Loan loan = testEntityManager.persist(loan(products.get(i % products.size())));
+            if (firstLoanId == null) {
+                firstLoanId = loan.getId();
+            }
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        statistics = testEntityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findResponsesByCustomerIdRunsOneStatement() {
+        List<LoanResponse> loans = loanRepository.findResponsesByCustomerId(CUSTOMER_ID);
+
+        assertThat(loans).hasSize(LOANS).allSatisfy(loan -> assertThat(loan.getProductName()).isNotNull());
+        assertSingleStatementNoEntities();
+    }
+
+    @Test
+    void findResponseByIdRunsOneStatement() {
+        LoanResponse loan = loanRepository.findResponseById(firstLoanId).orElseThrow();
+
+        assertThat(loan.getProductName()).isEqualTo("Kredit Motor");
+        assertSingleStatementNoEntities();
+    }
+
+    @Test
+    void findPageRunsOneStatement() {
+        List<LoanResponse> page = loanRepository.findPage(new LoanSearchFilter(null, null, null, null), null, null, 5);
+
+        assertThat(page).hasSize(5).allSatisfy(loan -> assertThat(loan.getProductName()).isNotNull());
+        assertSingleStatementNoEntities();
+    }
+
+    @Test
+    void streamAllRunsOneStatement() {
+        try (Stream<LoanResponse> loans = loanRepository.streamAll(new LoanSearchFilter(null, null, null, null), 5)) {
+            assertThat(loans.map(LoanResponse::getProductName)).hasSize(LOANS).doesNotContainNull();
+        }
+        assertSingleStatementNoEntities();
+    }
+
+    @Test
+    void entityReadsWouldLoadEachProductLazily() {
+        // The mapping the projections replaced: shows the statistics do catch the N+1 pattern
+        List<String> names = loanRepository.findByCustomerId(CUSTOMER_ID).stream()
+                .map(loan -> loan.getProduct().getProductName())
+                .toList();
+
+        assertThat(names).hasSize(LOANS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + 3);
+    }
+
+    private void assertSingleStatementNoEntities() {
+        assertThat(statistics.getPrepareStatementCount()).as("statements").isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).as("entities loaded").isZero();
+    }
+
+    private static LoanProduct product(String name, LoanProduct.ProductType type) {
+        return LoanProduct.builder()
+                .productName(name)
+                .productType(type)
+                .minAmount(new BigDecimal("1000000"))
+                .maxAmount(new BigDecimal("500000000"))
+                .minTenor(6)
+                .maxTenor(60)
+                .interestRate(new BigDecimal("12.00"))
+                .isActive(true)
+                .build();
+    }
+
+    private static Loan loan(LoanProduct product) {
+        return Loan.builder()
+                .customerId(CUSTOMER_ID)
+                .product(product)
+                .requestedAmount(new BigDecimal("25000000"))
+                .tenor(24)
+                .downPayment(new BigDecimal("5000000"))
+                .interestRate(product.getInterestRate())
+                .monthlyInstallment(new BigDecimal("941469.77"))
+                .totalPayment(new BigDecimal("22595274.48"))
+                .status(Loan.LoanStatus.PENDING)
+                .requiredApprovals(3)
+                .grantedApprovals(0)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.los.loan.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput of installment pricing and schedule generation, per core and across all cores.
+ * Compares the cached annuity factors with the per-call {@code pow} the service used before.
+ * <p>
+ * Not part of the regular build; run with
+ * {@code mvn test -Dtest=AmortizationEngineBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AmortizationEngineBenchmark {
+
+    private static final long WARMUP_MS = 2_000;
+    private static final long MEASURE_MS = 3_000;
+
+    private static final BigDecimal[] RATES = {
+            new BigDecimal("8.50"), new BigDecimal("10.00"), new BigDecimal("12.50"),
+            new BigDecimal("15.00"), new BigDecimal("18.00")};
+    private static final int[] TENORS = {12, 24, 36, 48, 60, 120, 180, 240, 360};
+    private static final BigDecimal[] PRINCIPALS = {
+            new BigDecimal("5000000"), new BigDecimal("50000000"), new BigDecimal("125000000.50"),
+            new BigDecimal("750000000")};
+
+    private static AmortizationEngine engine;
+
+    @BeforeAll
+    static void setUp() {
+        engine = new AmortizationEngine(Mockito.mock(ProductCatalog.class));
+        for (BigDecimal rate : RATES) {
+            for (int tenor : TENORS) {
+                engine.factor(rate, tenor);
+            }
+        }
+    }
+
+    @Test
+    void installmentThroughput() throws InterruptedException {
+        for (int i = 0; i < RATES.length * TENORS.length * PRINCIPALS.length; i++) {
+            assertEquals(legacyInstallment(i), cachedInstallment(i), "installment differs for case " + i);
+        }
+
+        report("installment, per-call pow", i -> legacyInstallment(i).unscaledValue().longValue());
+        report("installment, cached factor", i -> cachedInstallment(i).unscaledValue().longValue());
+    }
+
+    @Test
+    void scheduleThroughput() throws InterruptedException {
+        report("schedule, 360 months", i -> engine
+                .schedule(PRINCIPALS[i % PRINCIPALS.length], RATES[i % RATES.length], 360)
+                .mapToLong(entry -> entry.getInterest().unscaledValue().longValue())
+                .sum());
+    }
+
+    // The calculation LoanService.applyForLoan ran inline before the amortization engine
+    private static BigDecimal legacyInstallment(int i) {
+        BigDecimal principal = PRINCIPALS[i % PRINCIPALS.length];
+        BigDecimal monthlyRate = RATES[i % RATES.length].divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP)
+                .divide(BigDecimal.valueOf(12), 4, RoundingMode.HALF_UP);
+        int tenor = TENORS[i % TENORS.length];
+        BigDecimal denominator = BigDecimal.ONE.subtract(
+                BigDecimal.ONE.divide(BigDecimal.ONE.add(monthlyRate).pow(tenor), 10, RoundingMode.HALF_UP));
+        return principal.multiply(monthlyRate).divide(denominator, 2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal cachedInstallment(int i) {
+        return engine.monthlyInstallment(PRINCIPALS[i % PRINCIPALS.length], RATES[i % RATES.length],
+                TENORS[i % TENORS.length]);
+    }
+
+    private static void report(String name, IntToLongFunction op) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        run(1, WARMUP_MS, op);
+        double perCore = run(1, MEASURE_MS, op);
+        double allCores = run(cores, MEASURE_MS, op);
+        System.out.printf("%-28s %,14.0f ops/s per core %,14.0f ops/s on %d cores%n", name, perCore, allCores, cores);
+    }
+
+    private static double run(int threads, long durationMs, IntToLongFunction op) throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        LongAdder sink = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 7;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long count = 0;
+                long local = 0;
+                while ((count & 63) != 0 || System.nanoTime() < deadline[0]) {
+                    local += op.applyAsLong((int) (count++ + offset));
+                }
+                operations.add(count);
+                sink.add(local);
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        long begin = System.nanoTime();
+        deadline[0] = begin + TimeUnit.MILLISECONDS.toNanos(durationMs);
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        if (sink.sum() == 42) {
+            System.out.print(""); // keeps the results observable so the JIT cannot drop the work
+        }
+        return operations.sum() * 1e9 / elapsed;
+    }
+}
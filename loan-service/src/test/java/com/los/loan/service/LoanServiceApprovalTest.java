@@ -0,0 +1,218 @@
+package com.los.loan.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.los.loan.dto.ApprovalRequest;
+import com.los.loan.entity.Approval;
+import com.los.loan.entity.Loan;
+import com.los.loan.entity.LoanProduct;
+import com.los.loan.event.CreditCheckedEvent;
+import com.los.loan.repository.ApprovalRepository;
+import com.los.loan.repository.DisbursementRepository;
+import com.los.loan.repository.LoanRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Approval decisions only move a loan that is still open: one the credit check rejected, or one
+ * already approved or disbursed, keeps its status. The check is repeated when a decision is
+ * retried after losing a version race, so the retry cannot undo the write that won.
+ */
+class LoanServiceApprovalTest {
+
+    private static final Long LOAN_ID = 11L;
+    private static final int ALL_LEVELS = Approval.ApprovalLevel.SURVEYOR.bit()
+            | Approval.ApprovalLevel.CREDIT_ANALYST.bit() | Approval.ApprovalLevel.MANAGER.bit();
+
+    private final LoanRepository loanRepository = mock(LoanRepository.class);
+    private final ApprovalRepository approvalRepository = mock(ApprovalRepository.class);
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoanService loanService;
+    private Loan loan;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // Each attempt runs inline, as if in its own transaction
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+        OptimisticRetryExecutor retryExecutor =
+                new OptimisticRetryExecutor(transactionTemplate, meterRegistry, 3, 0);
+
+        loanService = new LoanService(loanRepository, mock(ProductCatalog.class), mock(AmortizationEngine.class),
+                mock(ApprovalWorkflow.class), approvalRepository, mock(DisbursementRepository.class), outboxService,
+                retryExecutor, mock(EntityManager.class), mock(Validator.class), new ObjectMapper());
+
+        loan = loan(Loan.LoanStatus.PENDING,
+                Approval.ApprovalLevel.SURVEYOR.bit() | Approval.ApprovalLevel.CREDIT_ANALYST.bit());
+        when(loanRepository.findById(LOAN_ID)).thenAnswer(invocation -> Optional.of(loan));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        for (Approval.ApprovalLevel level : Approval.ApprovalLevel.values()) {
+            when(approvalRepository.findByLoanIdAndApprovalLevel(LOAN_ID, level))
+                    .thenReturn(Optional.of(Approval.builder().approvalLevel(level)
+                            .decision(Approval.ApprovalDecision.PENDING).build()));
+        }
+    }
+
+    @Test
+    void creditRejectedLoanStaysRejected() {
+        loanService.applyCreditCheck(CreditCheckedEvent.builder()
+                .loanId(LOAN_ID)
+                .decision("REJECTED")
+                .creditScore(420)
+                .remarks("DTI above limit")
+                .build());
+        assertThat(loan.getStatus()).isEqualTo(Loan.LoanStatus.REJECTED);
+
+        for (Approval.ApprovalLevel level : Approval.ApprovalLevel.values()) {
+            assertThatThrownBy(() -> loanService.approveLoan(LOAN_ID, approve(level)))
+                    .hasMessage("Loan is REJECTED and no longer accepts approval decisions");
+        }
+
+        assertThat(loan.getStatus()).isEqualTo(Loan.LoanStatus.REJECTED);
+        assertThat(loan.getGrantedApprovals()).isZero();
+        assertThat(loan.getRemarks()).isEqualTo("DTI above limit");
+        verify(approvalRepository, never()).save(any());
+        verify(outboxService, never()).publish(anyString(), anyLong(), eq("LOAN_APPROVED:" + LOAN_ID));
+    }
+
+    @Test
+    void disbursedLoanIsNotApprovedAgain() {
+        loan = loan(Loan.LoanStatus.DISBURSED, ALL_LEVELS);
+
+        assertThatThrownBy(() -> loanService.approveLoan(LOAN_ID, approve(Approval.ApprovalLevel.MANAGER)))
+                .hasMessage("Loan is DISBURSED and no longer accepts approval decisions");
+
+        assertThat(loan.getStatus()).isEqualTo(Loan.LoanStatus.DISBURSED);
+        verify(outboxService, never()).publish(anyString(), anyLong(), anyString());
+    }
+
+    @Test
+    void openLoanIsApprovedOnceEveryRequiredLevelHas() {
+        loan.setStatus(Loan.LoanStatus.UNDER_REVIEW);
+
+        assertThat(loanService.approveLoan(LOAN_ID, approve(Approval.ApprovalLevel.SURVEYOR)).getStatus())
+                .isEqualTo(Loan.LoanStatus.UNDER_REVIEW);
+        assertThat(loanService.approveLoan(LOAN_ID, approve(Approval.ApprovalLevel.CREDIT_ANALYST)).getStatus())
+                .isEqualTo(Loan.LoanStatus.APPROVED);
+        verify(outboxService).publish(OutboxService.LOAN_TOPIC, LOAN_ID, "LOAN_APPROVED:" + LOAN_ID);
+    }
+
+    @Test
+    void retryAfterLosingToARejectionFails() {
+        loan.setStatus(Loan.LoanStatus.UNDER_REVIEW);
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> {
+            // A manager rejected the loan and committed first
+            loan = loan(Loan.LoanStatus.REJECTED, loan.getRequiredApprovals());
+            throw new ObjectOptimisticLockingFailureException(Loan.class, LOAN_ID);
+        });
+
+        assertThatThrownBy(() -> loanService.approveLoan(LOAN_ID, approve(Approval.ApprovalLevel.SURVEYOR)))
+                .hasMessage("Loan is REJECTED and no longer accepts approval decisions");
+
+        assertThat(loan.getStatus()).isEqualTo(Loan.LoanStatus.REJECTED);
+        assertThat(conflicts()).isEqualTo(1);
+        verify(outboxService, never()).publish(anyString(), anyLong(), anyString());
+    }
+
+    @Test
+    void retryAfterLosingToADisbursementFails() {
+        loan.setStatus(Loan.LoanStatus.UNDER_REVIEW);
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> {
+            // The loan was approved and disbursed in the meantime
+            loan = loan(Loan.LoanStatus.DISBURSED, loan.getRequiredApprovals());
+            loan.setGrantedApprovals(loan.getRequiredApprovals());
+            throw new ObjectOptimisticLockingFailureException(Loan.class, LOAN_ID);
+        });
+
+        assertThatThrownBy(() -> loanService.approveLoan(LOAN_ID, approve(Approval.ApprovalLevel.CREDIT_ANALYST)))
+                .hasMessage("Loan is DISBURSED and no longer accepts approval decisions");
+
+        assertThat(loan.getStatus()).isEqualTo(Loan.LoanStatus.DISBURSED);
+        verify(outboxService, never()).publish(anyString(), anyLong(), anyString());
+    }
+
+    @Test
+    void retryAfterLosingToAnotherApproverKeepsBothApprovals() {
+        loan.setStatus(Loan.LoanStatus.UNDER_REVIEW);
+        AtomicBoolean conflict = new AtomicBoolean(true);
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> {
+            if (conflict.getAndSet(false)) {
+                // The surveyor's approval committed first
+                loan = loan(Loan.LoanStatus.UNDER_REVIEW, loan.getRequiredApprovals());
+                loan.setGrantedApprovals(Approval.ApprovalLevel.SURVEYOR.bit());
+                throw new ObjectOptimisticLockingFailureException(Loan.class, LOAN_ID);
+            }
+            return invocation.getArgument(0);
+        });
+
+        assertThat(loanService.approveLoan(LOAN_ID, approve(Approval.ApprovalLevel.CREDIT_ANALYST)).getStatus())
+                .isEqualTo(Loan.LoanStatus.APPROVED);
+
+        assertThat(loan.getGrantedApprovals()).isEqualTo(loan.getRequiredApprovals());
+        assertThat(conflicts()).isEqualTo(1);
+        verify(outboxService).publish(OutboxService.LOAN_TOPIC, LOAN_ID, "LOAN_APPROVED:" + LOAN_ID);
+    }
+
+    @Test
+    void persistentConflictGivesUpAfterMaxAttempts() {
+        when(loanRepository.save(any(Loan.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Loan.class, LOAN_ID));
+
+        assertThatThrownBy(() -> loanService.approveLoan(LOAN_ID, approve(Approval.ApprovalLevel.SURVEYOR)))
+                .hasMessage("Concurrent update conflict, please retry")
+                .hasCauseInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        verify(loanRepository, times(3)).save(any(Loan.class));
+        assertThat(conflicts()).isEqualTo(3);
+        assertThat(meterRegistry.counter("los.optimistic.exhausted", "operation", "approve").count()).isEqualTo(1);
+    }
+
+    private double conflicts() {
+        return meterRegistry.counter("los.optimistic.conflicts", "operation", "approve").count();
+    }
+
+    private static ApprovalRequest approve(Approval.ApprovalLevel level) {
+        return ApprovalRequest.builder()
+                .approverRole(level)
+                .decision(Approval.ApprovalDecision.APPROVED)
+                .approverName("approver")
+                .build();
+    }
+
+    private static Loan loan(Loan.LoanStatus status, int requiredApprovals) {
+        return Loan.builder()
+                .id(LOAN_ID)
+                .customerId(7L)
+                .product(LoanProduct.builder().id(1L).build())
+                .requestedAmount(new BigDecimal("50000000"))
+                .tenor(24)
+                .status(status)
+                .requiredApprovals(requiredApprovals)
+                .grantedApprovals(0)
+                .build();
+    }
+}